@@ -0,0 +1,95 @@
+package com.newsfeed.demo.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.newsfeed.demo.common.cache.codec.CacheCodec;
+import com.newsfeed.demo.common.cache.codec.CompressingCacheCodec;
+import com.newsfeed.demo.feed.cache.PostBinaryCodec;
+import com.newsfeed.demo.feed.cache.PostSnapshot;
+
+/**
+ * 포스트 캐시 값 직렬화 비교 - 기존 GenericJackson2Json(타입 정보 포함) vs 바이너리 vs 바이너리 + LZ4
+ * 각 형식의 인코딩 크기는 Setup 단계에서 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheCodecBenchmark {
+
+  // 포스트 본문 길이 (짧은 글 / 최대 길이에 가까운 글)
+  @Param({"140", "2000"})
+  private int contentLength;
+
+  private PostSnapshot post;
+  private GenericJackson2JsonRedisSerializer jsonSerializer;
+  private CacheCodec<PostSnapshot> binaryCodec;
+  private CacheCodec<PostSnapshot> compressedCodec;
+  private byte[] jsonBytes;
+  private byte[] binaryBytes;
+  private byte[] compressedBytes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    String sentence = "오늘의 뉴스피드 포스트 본문입니다. Lorem ipsum dolor sit amet. ";
+    String content = sentence.repeat(contentLength / sentence.length() + 1).substring(0,
+        contentLength);
+    post = new PostSnapshot(123_456_789_012_345L, 42L, content,
+        List.of("https://cdn.example.com/media/1.jpg", "https://cdn.example.com/media/2.jpg"),
+        LocalDateTime.of(2025, 6, 1, 12, 30, 15));
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new JavaTimeModule());
+    jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    binaryCodec = new PostBinaryCodec();
+    compressedCodec = new CompressingCacheCodec<>(new PostBinaryCodec(), 512);
+
+    jsonBytes = jsonSerializer.serialize(post);
+    binaryBytes = binaryCodec.encode(post);
+    compressedBytes = compressedCodec.encode(post);
+    System.out.printf("%n[contentLength=%d] json=%dB, binary=%dB, binary+lz4=%dB%n",
+        contentLength, jsonBytes.length, binaryBytes.length, compressedBytes.length);
+  }
+
+  @Benchmark
+  public byte[] encodeJson() {
+    return jsonSerializer.serialize(post);
+  }
+
+  @Benchmark
+  public byte[] encodeBinary() {
+    return binaryCodec.encode(post);
+  }
+
+  @Benchmark
+  public byte[] encodeBinaryLz4() {
+    return compressedCodec.encode(post);
+  }
+
+  @Benchmark
+  public Object decodeJson() {
+    return jsonSerializer.deserialize(jsonBytes);
+  }
+
+  @Benchmark
+  public PostSnapshot decodeBinary() {
+    return binaryCodec.decode(binaryBytes);
+  }
+
+  @Benchmark
+  public PostSnapshot decodeBinaryLz4() {
+    return compressedCodec.decode(compressedBytes);
+  }
+}
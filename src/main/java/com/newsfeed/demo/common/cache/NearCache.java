@@ -0,0 +1,92 @@
+package com.newsfeed.demo.common.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 로컬(L1) 니어 캐시 - Redis 앞단에서 자주 조회되는 데이터를 JVM 메모리에 짧게 보관
+ */
+public class NearCache {
+
+  private final String name;
+  private final Cache<Long, Object> cache;
+  private final Timer loadTimer;
+
+  NearCache(String name, Cache<Long, Object> cache, Timer loadTimer) {
+    this.name = name;
+    this.cache = cache;
+    this.loadTimer = loadTimer;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * 로컬 캐시에서 조회하고, 없으면 loader(Redis 등)로 조회하여 로컬 캐시에 저장
+   */
+  public Object get(Long id, Function<Long, Object> loader) {
+    Object value = cache.getIfPresent(id);
+    if (value != null) {
+      return value;
+    }
+
+    long startTime = System.nanoTime();
+    value = loader.apply(id);
+    loadTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+    if (value != null) {
+      cache.put(id, value);
+    }
+    return value;
+  }
+
+  /**
+   * 로컬 캐시에서 일괄 조회하고, 없는 ID만 모아 loader(Redis MGET 등)로 한 번에 조회
+   * 어디에도 없는 ID는 결과 Map에 포함하지 않음
+   */
+  public Map<Long, Object> getAll(Collection<Long> ids,
+      Function<List<Long>, Map<Long, Object>> loader) {
+    Map<Long, Object> result = new HashMap<>();
+    List<Long> missedIds = new ArrayList<>();
+    for (Long id : ids) {
+      Object value = cache.getIfPresent(id);
+      if (value != null) {
+        result.put(id, value);
+      } else {
+        missedIds.add(id);
+      }
+    }
+
+    if (!missedIds.isEmpty()) {
+      long startTime = System.nanoTime();
+      Map<Long, Object> loaded = loader.apply(missedIds);
+      loadTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+      cache.putAll(loaded);
+      result.putAll(loaded);
+    }
+    return result;
+  }
+
+  /**
+   * 로컬 캐시에만 저장
+   */
+  public void put(Long id, Object value) {
+    cache.put(id, value);
+  }
+
+  /**
+   * 로컬 캐시에서만 제거 (다른 노드 전파는 NearCacheManager에서 처리)
+   */
+  void invalidateLocal(Long id) {
+    cache.invalidate(id);
+  }
+}
@@ -0,0 +1,100 @@
+package com.newsfeed.demo.common.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 니어 캐시 관리자 - 캐시 생성, Micrometer 메트릭 등록, Redis Pub/Sub을 통한 노드 간 무효화 전파
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NearCacheManager implements MessageListener {
+
+  public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+  private final String nodeId = UUID.randomUUID().toString();
+
+  @Value("${newsfeed.near-cache.maximum-size:10000}")
+  private long maximumSize;
+
+  @Value("${newsfeed.near-cache.expire-after-write-seconds:30}")
+  private long expireAfterWriteSeconds;
+
+  /**
+   * 이름별 니어 캐시 조회 (없으면 생성)
+   */
+  public NearCache getCache(String name) {
+    return caches.computeIfAbsent(name, this::createCache);
+  }
+
+  /**
+   * 로컬 캐시에서 제거하고 다른 노드에도 무효화 메시지 전파
+   */
+  public void invalidate(String name, Long id) {
+    getCache(name).invalidateLocal(id);
+    try {
+      redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + name + "|" + id);
+    } catch (Exception e) {
+      log.error("니어 캐시 무효화 전파 실패: cache={}, id={}", name, id, e);
+    }
+  }
+
+  /**
+   * 다른 노드에서 전파된 무효화 메시지 처리
+   */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+      if (payload == null) {
+        return;
+      }
+
+      String[] parts = payload.toString().split("\\|");
+      if (parts.length != 3 || nodeId.equals(parts[0])) {
+        return;
+      }
+
+      NearCache cache = caches.get(parts[1]);
+      if (cache != null) {
+        cache.invalidateLocal(Long.valueOf(parts[2]));
+        log.debug("니어 캐시 무효화 수신: cache={}, id={}", parts[1], parts[2]);
+      }
+    } catch (Exception e) {
+      log.error("니어 캐시 무효화 메시지 처리 실패", e);
+    }
+  }
+
+  private NearCache createCache(String name) {
+    // maximumSize 기반 제거는 Caffeine의 W-TinyLFU 정책으로 동작
+    Cache<Long, Object> cache = Caffeine.newBuilder().maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds)).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+
+    Timer loadTimer = Timer.builder("nearcache.load").description("니어 캐시 미스 시 원격 캐시 조회 시간")
+        .tag("cache", name).register(meterRegistry);
+
+    log.info("니어 캐시 생성: name={}, maximumSize={}, expireAfterWriteSeconds={}", name, maximumSize,
+        expireAfterWriteSeconds);
+    return new NearCache(name, cache, loadTimer);
+  }
+}
@@ -0,0 +1,101 @@
+package com.newsfeed.demo.common.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 요청 병합(single-flight) - 같은 키를 동시에 로드하는 요청은 먼저 들어온 한 요청만 실행하고
+ * 나머지는 그 결과를 기다려 함께 사용 (JVM 내부 기준)
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * 키 하나를 로드 (진행 중인 로드가 있으면 그 결과를 기다림)
+   */
+  public V execute(K key, Supplier<V> loader) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return await(existing);
+    }
+
+    try {
+      V value = loader.get();
+      future.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * 여러 키를 한 번에 로드
+   * 다른 요청이 로드 중인 키는 기다리고, 나머지 키만 모아 loader를 한 번 호출
+   * loader 결과에 없는 키는 결과 Map에 포함하지 않음
+   */
+  public Map<K, V> executeAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+    Map<K, CompletableFuture<V>> owned = new HashMap<>();
+    Map<K, CompletableFuture<V>> waiting = new HashMap<>();
+    for (K key : keys) {
+      CompletableFuture<V> future = new CompletableFuture<>();
+      CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+      if (existing != null) {
+        waiting.put(key, existing);
+      } else {
+        owned.put(key, future);
+      }
+    }
+
+    Map<K, V> result = new HashMap<>();
+    if (!owned.isEmpty()) {
+      // 기다리는 요청이 막히지 않도록 로드 결과와 관계없이 직접 맡은 키는 항상 완료 처리
+      try {
+        Map<K, V> loaded = loader.apply(new ArrayList<>(owned.keySet()));
+        owned.forEach((key, future) -> {
+          V value = loaded.get(key);
+          future.complete(value);
+          if (value != null) {
+            result.put(key, value);
+          }
+        });
+      } catch (RuntimeException e) {
+        owned.values().forEach(future -> future.completeExceptionally(e));
+        throw e;
+      } finally {
+        owned.forEach(inFlight::remove);
+      }
+    }
+
+    waiting.forEach((key, future) -> {
+      V value = await(future);
+      if (value != null) {
+        result.put(key, value);
+      }
+    });
+    return result;
+  }
+
+  private V await(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.newsfeed.demo.common.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 바이너리 코덱용 읽기 버퍼 - BinaryWriter가 기록한 형식을 같은 순서로 읽음
+ */
+public class BinaryReader {
+
+  private final byte[] buffer;
+  private int position;
+
+  public BinaryReader(byte[] buffer) {
+    this.buffer = buffer;
+  }
+
+  public int readByte() {
+    checkAvailable(1);
+    return buffer[position++];
+  }
+
+  public long readVarLong() {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      checkAvailable(1);
+      byte b = buffer[position++];
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("잘못된 varint 형식입니다.");
+  }
+
+  public String readString() {
+    long length = readVarLong();
+    if (length == 0) {
+      return null;
+    }
+    int byteLength = (int) (length - 1);
+    checkAvailable(byteLength);
+    String value = new String(buffer, position, byteLength, StandardCharsets.UTF_8);
+    position += byteLength;
+    return value;
+  }
+
+  public List<String> readStringList() {
+    long size = readVarLong();
+    if (size == 0) {
+      return null;
+    }
+    List<String> values = new ArrayList<>((int) (size - 1));
+    for (long i = 1; i < size; i++) {
+      values.add(readString());
+    }
+    return values;
+  }
+
+  public LocalDateTime readDateTime() {
+    if (readByte() == 0) {
+      return null;
+    }
+    long epochSecond = readVarLong();
+    return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+  }
+
+  private void checkAvailable(int length) {
+    if (length < 0 || position + length > buffer.length) {
+      throw new SerializationException("캐시 값이 예상보다 짧습니다.");
+    }
+  }
+}
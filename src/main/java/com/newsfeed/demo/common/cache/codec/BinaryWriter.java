@@ -0,0 +1,80 @@
+package com.newsfeed.demo.common.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 바이너리 코덱용 쓰기 버퍼 - 정수는 가변 길이(varint), 문자열은 길이 + UTF-8로 기록
+ * null 문자열/목록은 길이 0, 그 외에는 길이 + 1을 기록
+ */
+public class BinaryWriter {
+
+  private byte[] buffer;
+  private int position;
+
+  public BinaryWriter(int initialCapacity) {
+    this.buffer = new byte[initialCapacity];
+  }
+
+  public BinaryWriter writeByte(int value) {
+    ensureCapacity(1);
+    buffer[position++] = (byte) value;
+    return this;
+  }
+
+  public BinaryWriter writeVarLong(long value) {
+    ensureCapacity(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return this;
+  }
+
+  public BinaryWriter writeString(String value) {
+    if (value == null) {
+      return writeVarLong(0);
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(bytes.length + 1L);
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+    return this;
+  }
+
+  public BinaryWriter writeStringList(List<String> values) {
+    if (values == null) {
+      return writeVarLong(0);
+    }
+    writeVarLong(values.size() + 1L);
+    values.forEach(this::writeString);
+    return this;
+  }
+
+  /**
+   * 존재 여부 1바이트 뒤에 UTC 기준 epoch 초와 나노초로 기록
+   */
+  public BinaryWriter writeDateTime(LocalDateTime value) {
+    if (value == null) {
+      return writeByte(0);
+    }
+    writeByte(1);
+    writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+    return writeVarLong(value.getNano());
+  }
+
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer, position);
+  }
+
+  private void ensureCapacity(int additional) {
+    if (position + additional > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.newsfeed.demo.common.cache.codec;
+
+/**
+ * 캐시 값 직렬화 코덱 - Redis에 저장할 바이트 배열과 캐시 객체 사이를 변환
+ */
+public interface CacheCodec<T> {
+
+  byte[] encode(T value);
+
+  T decode(byte[] bytes);
+}
@@ -0,0 +1,64 @@
+package com.newsfeed.demo.common.cache.codec;
+
+import java.nio.ByteBuffer;
+import org.springframework.data.redis.serializer.SerializationException;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * 압축 코덱 - 인코딩 결과가 임계값 이상이면 LZ4로 압축
+ * 첫 바이트로 압축 여부를 표시 (0: 원본, 1: LZ4 + 원본 길이 4바이트)
+ */
+public class CompressingCacheCodec<T> implements CacheCodec<T> {
+
+  private static final byte RAW = 0;
+  private static final byte LZ4 = 1;
+  private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+  private static final LZ4FastDecompressor DECOMPRESSOR =
+      LZ4Factory.fastestInstance().fastDecompressor();
+
+  private final CacheCodec<T> delegate;
+  private final int threshold;
+
+  public CompressingCacheCodec(CacheCodec<T> delegate, int threshold) {
+    this.delegate = delegate;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public byte[] encode(T value) {
+    byte[] raw = delegate.encode(value);
+    if (raw.length >= threshold) {
+      byte[] compressed = new byte[COMPRESSOR.maxCompressedLength(raw.length)];
+      int compressedLength = COMPRESSOR.compress(raw, 0, raw.length, compressed, 0);
+      // 압축해도 줄지 않으면 원본 그대로 저장
+      if (compressedLength + Integer.BYTES < raw.length) {
+        return ByteBuffer.allocate(1 + Integer.BYTES + compressedLength).put(LZ4)
+            .putInt(raw.length).put(compressed, 0, compressedLength).array();
+      }
+    }
+    return ByteBuffer.allocate(1 + raw.length).put(RAW).put(raw).array();
+  }
+
+  @Override
+  public T decode(byte[] bytes) {
+    if (bytes.length == 0) {
+      throw new SerializationException("빈 캐시 값은 디코딩할 수 없습니다.");
+    }
+    switch (bytes[0]) {
+      case RAW -> {
+        byte[] raw = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 1, raw, 0, raw.length);
+        return delegate.decode(raw);
+      }
+      case LZ4 -> {
+        int originalLength = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+        byte[] raw = new byte[originalLength];
+        DECOMPRESSOR.decompress(bytes, 1 + Integer.BYTES, raw, 0, originalLength);
+        return delegate.decode(raw);
+      }
+      default -> throw new SerializationException("알 수 없는 캐시 값 형식: header=" + bytes[0]);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.newsfeed.demo.common.cache.codec;
+
+import java.io.IOException;
+import org.springframework.data.redis.serializer.SerializationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON 코덱 - 타입 정보 없이 지정한 클래스로만 변환 (바이너리 코덱 비교 및 폴백용)
+ */
+public class JsonCacheCodec<T> implements CacheCodec<T> {
+
+  private final ObjectMapper objectMapper;
+  private final Class<T> type;
+
+  public JsonCacheCodec(ObjectMapper objectMapper, Class<T> type) {
+    this.objectMapper = objectMapper;
+    this.type = type;
+  }
+
+  @Override
+  public byte[] encode(T value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new SerializationException("JSON 직렬화 실패: type=" + type.getSimpleName(), e);
+    }
+  }
+
+  @Override
+  public T decode(byte[] bytes) {
+    try {
+      return objectMapper.readValue(bytes, type);
+    } catch (IOException e) {
+      throw new SerializationException("JSON 역직렬화 실패: type=" + type.getSimpleName(), e);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.newsfeed.demo.common.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * 엔티티 ID를 Snowflake ID로 생성 (DB 왕복 없이 애플리케이션에서 발급하므로 INSERT 배치 가능)
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
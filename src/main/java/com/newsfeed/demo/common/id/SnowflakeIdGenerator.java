@@ -0,0 +1,60 @@
+package com.newsfeed.demo.common.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake 방식의 64비트 ID 생성기 (락 없이 CAS로 동작)
+ * [부호 1비트 | 타임스탬프 41비트 | 워커 ID 10비트 | 시퀀스 12비트]
+ * 생성된 ID는 시간순으로 정렬되므로 ID만으로 최신순 정렬과 커서 페이지네이션이 가능
+ */
+public class SnowflakeIdGenerator {
+
+  public static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
+
+  private static final int WORKER_ID_BITS = 10;
+  private static final int SEQUENCE_BITS = 12;
+  private static final int TIMESTAMP_SHIFT = WORKER_ID_BITS + SEQUENCE_BITS;
+
+  public static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+  private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+  private final long workerId;
+
+  // 마지막으로 발급한 (타임스탬프 << SEQUENCE_BITS) | 시퀀스
+  private final AtomicLong lastState = new AtomicLong();
+
+  public SnowflakeIdGenerator(long workerId) {
+    if (workerId < 0 || workerId > MAX_WORKER_ID) {
+      throw new IllegalArgumentException("워커 ID는 0 이상 " + MAX_WORKER_ID + " 이하여야 합니다.");
+    }
+    this.workerId = workerId;
+  }
+
+  public long getWorkerId() {
+    return workerId;
+  }
+
+  public long nextId() {
+    while (true) {
+      long prev = lastState.get();
+      long now = System.currentTimeMillis() - EPOCH;
+
+      // 밀리초가 바뀌면 시퀀스를 0부터 시작하고, 같은 밀리초이거나 시계가 뒤로 간 경우 시퀀스 증가
+      // (시퀀스가 넘치면 타임스탬프 자리로 올림되어 다음 밀리초를 미리 사용)
+      long next = now > (prev >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : prev + 1;
+
+      if (lastState.compareAndSet(prev, next)) {
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & MAX_SEQUENCE;
+        return (timestamp << TIMESTAMP_SHIFT) | (workerId << SEQUENCE_BITS) | sequence;
+      }
+    }
+  }
+
+  /**
+   * ID에 기록된 생성 시각(epoch millis)
+   */
+  public static long extractTimestamp(long id) {
+    return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+  }
+}
@@ -0,0 +1,45 @@
+package com.newsfeed.demo.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate 식별자 생성기 - Hibernate가 직접 생성하므로 워커 ID가 할당된 생성기를 정적으로 전달받음
+ * 워커 ID 임대가 확인된 기간이 지나면 다른 노드가 같은 워커 ID를 점유했을 수 있으므로 ID를 생성하지 않음
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+  static volatile Registration registration;
+
+  /**
+   * 생성기와, 워커 ID를 안전하게 사용할 수 있는 시각(epoch ms) 등록
+   */
+  static void register(SnowflakeIdGenerator generator, long validUntilMillis) {
+    registration = new Registration(generator, validUntilMillis);
+  }
+
+  /**
+   * 임대 갱신이 확인되어 현재 생성기를 사용할 수 있는 시각 연장
+   */
+  static void extendValidity(SnowflakeIdGenerator generator, long validUntilMillis) {
+    Registration current = registration;
+    if (current != null && current.generator() == generator) {
+      registration = new Registration(generator, validUntilMillis);
+    }
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object object) {
+    Registration current = registration;
+    if (current == null) {
+      throw new IllegalStateException("Snowflake 워커 ID가 아직 할당되지 않았습니다.");
+    }
+    if (System.currentTimeMillis() >= current.validUntilMillis()) {
+      throw new IllegalStateException("Snowflake 워커 ID 임대가 갱신되지 않아 ID를 생성할 수 없습니다: workerId="
+          + current.generator().getWorkerId());
+    }
+    return current.generator().nextId();
+  }
+
+  record Registration(SnowflakeIdGenerator generator, long validUntilMillis) {}
+}
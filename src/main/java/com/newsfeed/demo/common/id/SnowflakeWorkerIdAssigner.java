@@ -0,0 +1,157 @@
+package com.newsfeed.demo.common.id;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snowflake 워커 ID 할당 - Redis 임대(lease) 키로 노드마다 겹치지 않는 워커 ID를 점유
+ * 다른 스케줄 작업이 밀려도 임대가 만료되지 않도록 전용 스레드에서 갱신하고,
+ * 마지막으로 확인된 갱신이 오래되면 ID 생성을 막아 다른 노드와 같은 워커 ID로 ID를 발급하지 않음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SnowflakeWorkerIdAssigner {
+
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  private static final String WORKER_KEY_PREFIX = "snowflake:worker:";
+  private static final int WORKER_LEASE_TTL = 60; // 60초 (갱신 주기의 3배)
+  private static final long RENEW_INTERVAL_MILLIS = 20_000;
+  // 임대 만료 전 이만큼 일찍 ID 생성을 멈춤 (Redis와 노드 사이의 시계 차이, 갱신 지연 여유)
+  private static final long LEASE_SAFETY_MARGIN_MILLIS = 10_000;
+
+  // 현재 노드가 점유 중일 때만 임대 연장
+  private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('EXPIRE', KEYS[1], ARGV[2]) else return 0 end",
+      Long.class);
+
+  // 현재 노드가 점유 중일 때만 해제
+  private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('DEL', KEYS[1]) else return 0 end",
+      Long.class);
+
+  // 0 이상이면 Redis 임대 없이 고정 워커 ID 사용
+  @Value("${newsfeed.id.worker-id:-1}")
+  private long configuredWorkerId;
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private volatile Long leasedWorkerId;
+  private volatile SnowflakeIdGenerator leasedGenerator;
+
+  private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "snowflake-lease");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * 고정 워커 ID가 없으면 Redis에서 워커 ID를 임대하며, 임대하지 못하면 애플리케이션 시작 실패
+   */
+  @PostConstruct
+  public void assignWorkerId() {
+    if (configuredWorkerId >= 0) {
+      SnowflakeIdentifierGenerator.register(new SnowflakeIdGenerator(configuredWorkerId),
+          Long.MAX_VALUE);
+      log.info("Snowflake 고정 워커 ID 사용: workerId={}", configuredWorkerId);
+      return;
+    }
+
+    // Redis에 연결할 수 없으면 시작을 중단 (임의 워커 ID는 다른 노드와 겹쳐 기본 키가 충돌할 수 있음)
+    boolean claimed;
+    try {
+      claimed = claimWorkerId();
+    } catch (Exception e) {
+      throw new IllegalStateException("Snowflake 워커 ID 임대에 실패했습니다. Redis 연결을 확인하거나 "
+          + "newsfeed.id.worker-id로 노드마다 다른 워커 ID를 지정하세요.", e);
+    }
+    if (!claimed) {
+      throw new IllegalStateException("사용 가능한 Snowflake 워커 ID가 없습니다.");
+    }
+    leaseRenewer.scheduleWithFixedDelay(this::renewLease, RENEW_INTERVAL_MILLIS,
+        RENEW_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 워커 ID 임대 갱신 (임대를 잃었으면 새 워커 ID 점유)
+   * 갱신에 실패하면 ID 생성 가능 기간이 늘어나지 않으므로, 계속 실패하면 임대 만료 전에 ID 생성이 멈춤
+   */
+  void renewLease() {
+    try {
+      Long workerId = leasedWorkerId;
+      if (workerId != null) {
+        // 갱신 요청 전 시각을 기준으로 하여 실제 만료 시각보다 늦게 잡지 않음
+        long requestedAt = System.currentTimeMillis();
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(WORKER_KEY_PREFIX + workerId),
+            nodeId, WORKER_LEASE_TTL);
+        if (renewed != null && renewed == 1L) {
+          SnowflakeIdentifierGenerator.extendValidity(leasedGenerator, validUntil(requestedAt));
+          return;
+        }
+        log.warn("Snowflake 워커 ID 임대 만료, 새 워커 ID 점유 시도: workerId={}", workerId);
+      }
+      claimWorkerId();
+    } catch (Exception e) {
+      log.error("Snowflake 워커 ID 임대 갱신 실패: workerId={}", leasedWorkerId, e);
+    }
+  }
+
+  @PreDestroy
+  public void releaseLease() {
+    leaseRenewer.shutdownNow();
+    Long workerId = leasedWorkerId;
+    if (workerId == null) {
+      return;
+    }
+    try {
+      redisTemplate.execute(RELEASE_SCRIPT, List.of(WORKER_KEY_PREFIX + workerId), nodeId);
+      log.info("Snowflake 워커 ID 임대 해제: workerId={}", workerId);
+    } catch (Exception e) {
+      log.error("Snowflake 워커 ID 임대 해제 실패: workerId={}", workerId, e);
+    }
+  }
+
+  /**
+   * 임의의 위치부터 비어 있는 워커 ID를 찾아 SET NX로 점유
+   */
+  private boolean claimWorkerId() {
+    long workerCount = SnowflakeIdGenerator.MAX_WORKER_ID + 1;
+    long start = ThreadLocalRandom.current().nextLong(workerCount);
+    for (long i = 0; i < workerCount; i++) {
+      long candidate = (start + i) % workerCount;
+      long requestedAt = System.currentTimeMillis();
+      Boolean claimed = redisTemplate.opsForValue().setIfAbsent(WORKER_KEY_PREFIX + candidate,
+          nodeId, Duration.ofSeconds(WORKER_LEASE_TTL));
+      if (Boolean.TRUE.equals(claimed)) {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(candidate);
+        leasedWorkerId = candidate;
+        leasedGenerator = generator;
+        SnowflakeIdentifierGenerator.register(generator, validUntil(requestedAt));
+        log.info("Snowflake 워커 ID 점유: workerId={}", candidate);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long validUntil(long requestedAt) {
+    return requestedAt + TimeUnit.SECONDS.toMillis(WORKER_LEASE_TTL) - LEASE_SAFETY_MARGIN_MILLIS;
+  }
+}
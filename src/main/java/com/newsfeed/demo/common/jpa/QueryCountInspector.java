@@ -0,0 +1,37 @@
+package com.newsfeed.demo.common.jpa;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate가 실행하는 SQL 수를 스레드별로 세는 StatementInspector
+ * start()와 stop() 사이에 현재 스레드에서 실행된 SQL 수를 반환 (지연 로딩으로 발생한 쿼리 포함)
+ */
+public class QueryCountInspector implements StatementInspector {
+
+  private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+  /**
+   * 현재 스레드의 SQL 카운트 시작
+   */
+  public static void start() {
+    COUNTER.set(new int[1]);
+  }
+
+  /**
+   * 현재 스레드의 SQL 카운트를 끝내고 실행된 SQL 수 반환
+   */
+  public static int stop() {
+    int[] counter = COUNTER.get();
+    COUNTER.remove();
+    return counter != null ? counter[0] : 0;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    int[] counter = COUNTER.get();
+    if (counter != null) {
+      counter[0]++;
+    }
+    return sql;
+  }
+}
@@ -0,0 +1,26 @@
+package com.newsfeed.demo.common.util;
+
+/**
+ * Jump Consistent Hash (Lamping & Veach) - 키를 0 ~ buckets-1 중 하나로 고르게 배정
+ * 버킷 수가 n에서 n+1로 늘면 키의 1/(n+1)만 새 버킷으로 옮겨지고 나머지는 그대로 유지됨
+ */
+public final class JumpConsistentHash {
+
+  private static final long MULTIPLIER = 2862933555777941757L;
+
+  private JumpConsistentHash() {}
+
+  public static int bucket(long key, int buckets) {
+    if (buckets <= 0) {
+      throw new IllegalArgumentException("buckets must be positive: " + buckets);
+    }
+    long bucket = -1;
+    long next = 0;
+    while (next < buckets) {
+      bucket = next;
+      key = key * MULTIPLIER + 1;
+      next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+    }
+    return (int) bucket;
+  }
+}
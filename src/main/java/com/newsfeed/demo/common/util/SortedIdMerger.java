@@ -0,0 +1,57 @@
+package com.newsfeed.demo.common.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 내림차순으로 정렬된 여러 ID 목록을 힙으로 병합 (k-way merge)
+ * limit 개를 채우면 나머지 목록은 더 읽지 않고 종료하며, 중복 ID는 한 번만 포함
+ */
+public final class SortedIdMerger {
+
+  private SortedIdMerger() {}
+
+  public static List<Long> mergeDescending(Collection<List<Long>> sortedLists, int limit) {
+    PriorityQueue<Cursor> heap = new PriorityQueue<>((a, b) -> Long.compare(b.head(), a.head()));
+    for (List<Long> list : sortedLists) {
+      if (list != null && !list.isEmpty()) {
+        heap.add(new Cursor(list));
+      }
+    }
+
+    List<Long> merged = new ArrayList<>(Math.min(limit, 1024));
+    Long previous = null;
+    while (!heap.isEmpty() && merged.size() < limit) {
+      Cursor cursor = heap.poll();
+      Long id = cursor.head();
+      if (!id.equals(previous)) {
+        merged.add(id);
+        previous = id;
+      }
+      if (cursor.advance()) {
+        heap.add(cursor);
+      }
+    }
+    return merged;
+  }
+
+  private static final class Cursor {
+
+    private final List<Long> list;
+    private int index;
+
+    private Cursor(List<Long> list) {
+      this.list = list;
+    }
+
+    private Long head() {
+      return list.get(index);
+    }
+
+    private boolean advance() {
+      return ++index < list.size();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.newsfeed.demo.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+  public static final String FEED_UPDATE_EXECUTOR = "feedUpdateExecutor";
+  public static final String FEED_REFRESH_EXECUTOR = "feedRefreshExecutor";
+
+  // 팔로우 변경에 따른 뉴스피드 갱신 스레드 수
+  @Value("${newsfeed.feed.update-threads:4}")
+  private int updateThreads;
+
+  // 대기열이 가득 차면 호출 스레드에서 실행하여 자연스럽게 속도 조절
+  @Value("${newsfeed.feed.update-queue-capacity:1000}")
+  private int updateQueueCapacity;
+
+  // 뉴스피드 캐시 조기 갱신(XFetch) 스레드 수
+  @Value("${newsfeed.feed.refresh-threads:2}")
+  private int refreshThreads;
+
+  // 대기열이 가득 차면 조기 갱신을 생략 (조회 요청이 재구성을 기다리지 않도록 호출 스레드에서 실행하지 않음)
+  @Value("${newsfeed.feed.refresh-queue-capacity:100}")
+  private int refreshQueueCapacity;
+
+  @Bean(name = FEED_UPDATE_EXECUTOR)
+  public Executor feedUpdateExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(updateThreads);
+    executor.setMaxPoolSize(updateThreads);
+    executor.setQueueCapacity(updateQueueCapacity);
+    executor.setThreadNamePrefix("feed-update-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+    return executor;
+  }
+
+  @Bean(name = FEED_REFRESH_EXECUTOR)
+  public Executor feedRefreshExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(refreshThreads);
+    executor.setMaxPoolSize(refreshThreads);
+    executor.setQueueCapacity(refreshQueueCapacity);
+    executor.setThreadNamePrefix("feed-refresh-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,48 @@
+package com.newsfeed.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.newsfeed.demo.common.cache.codec.CacheCodec;
+import com.newsfeed.demo.common.cache.codec.CompressingCacheCodec;
+import com.newsfeed.demo.common.cache.codec.JsonCacheCodec;
+import com.newsfeed.demo.feed.cache.PostBinaryCodec;
+import com.newsfeed.demo.feed.cache.PostSnapshot;
+import com.newsfeed.demo.user.cache.UserBinaryCodec;
+import com.newsfeed.demo.user.cache.UserSnapshot;
+
+@Configuration
+public class CacheCodecConfig {
+
+  // 포스트/사용자 캐시 값 형식 (binary 또는 json)
+  @Value("${newsfeed.cache.codec:binary}")
+  private String codec;
+
+  // 인코딩 결과가 이 크기(바이트) 이상이면 LZ4로 압축
+  @Value("${newsfeed.cache.compression-threshold-bytes:512}")
+  private int compressionThreshold;
+
+  @Bean
+  public CacheCodec<PostSnapshot> postCacheCodec() {
+    return compressing(
+        "json".equals(codec) ? jsonCodec(PostSnapshot.class) : new PostBinaryCodec());
+  }
+
+  @Bean
+  public CacheCodec<UserSnapshot> userCacheCodec() {
+    return compressing(
+        "json".equals(codec) ? jsonCodec(UserSnapshot.class) : new UserBinaryCodec());
+  }
+
+  private <T> CacheCodec<T> jsonCodec(Class<T> type) {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new JavaTimeModule());
+    return new JsonCacheCodec<>(objectMapper, type);
+  }
+
+  private <T> CacheCodec<T> compressing(CacheCodec<T> delegate) {
+    return new CompressingCacheCodec<>(delegate, compressionThreshold);
+  }
+}
@@ -0,0 +1,18 @@
+package com.newsfeed.demo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.newsfeed.demo.common.jpa.QueryCountInspector;
+
+@Configuration
+public class JpaConfig {
+
+  // 요청당 SQL 수를 메트릭으로 기록하기 위해 모든 SQL을 카운터에 통과시킴
+  @Bean
+  public HibernatePropertiesCustomizer queryCountCustomizer() {
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+        new QueryCountInspector());
+  }
+}
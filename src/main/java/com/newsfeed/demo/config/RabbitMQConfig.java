@@ -1,33 +1,93 @@
 package com.newsfeed.demo.config;
 
-import org.springframework.amqp.core.Binding;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
 
-  @Bean
-  public Queue fanoutQueue() {
-    return new Queue(RabbitMQConstants.FANOUT_QUEUE, true);
-  }
+  // 레인별 팬아웃 샤드 큐 수
+  @Value("${newsfeed.fanout.shard-count:4}")
+  private int shardCount;
+
+  // 팬아웃 큐를 동시에 소비하는 컨슈머 수 (부하에 따라 max-concurrency까지 증가)
+  @Value("${newsfeed.fanout.consumer.concurrency:4}")
+  private int concurrency;
+
+  @Value("${newsfeed.fanout.consumer.max-concurrency:16}")
+  private int maxConcurrency;
+
+  // 컨슈머당 확인(ack) 전에 미리 받아 둘 메시지 수
+  @Value("${newsfeed.fanout.consumer.prefetch:10}")
+  private int prefetch;
+
+  // 리스너 한 번 호출에 묶어 전달할 메시지 수
+  @Value("${newsfeed.fanout.consumer.batch-size:10}")
+  private int batchSize;
+
+  // 배치를 채우기 위해 기다리는 최대 시간 (지나면 모인 메시지만으로 리스너 호출)
+  @Value("${newsfeed.fanout.consumer.batch-receive-timeout-ms:50}")
+  private long batchReceiveTimeoutMillis;
+
+  // 처리에 실패한 메시지가 재시도 큐에서 기다렸다가 샤드 큐로 돌아가기까지의 시간
+  @Value("${newsfeed.fanout.retry.redelivery-delay-ms:5000}")
+  private int redeliveryDelayMillis;
 
   @Bean
   public DirectExchange fanoutExchange() {
     return new DirectExchange(RabbitMQConstants.FANOUT_EXCHANGE);
   }
 
+  /**
+   * 샤드 큐 도입 전의 단일 팬아웃 큐 - 배포 전에 쌓인 메시지를 소비할 수 있도록 이전과 같은 설정으로 선언
+   */
   @Bean
-  public Binding fanoutBinding(Queue fanoutQueue, DirectExchange fanoutExchange) {
-    return BindingBuilder.bind(fanoutQueue).to(fanoutExchange)
-        .with(RabbitMQConstants.FANOUT_ROUTING_KEY);
+  public Queue fanoutLegacyQueue() {
+    return new Queue(RabbitMQConstants.FANOUT_LEGACY_QUEUE, true);
+  }
+
+  @Bean
+  public Queue fanoutDeadLetterQueue() {
+    return new Queue(RabbitMQConstants.FANOUT_DEAD_LETTER_QUEUE, true);
+  }
+
+  /**
+   * 레인별 샤드 큐와 바인딩, 샤드별 재시도 큐 선언 (큐 이름을 라우팅 키로 사용)
+   * 샤드 큐에서 거절(requeue=false)된 메시지는 브로커가 재시도 큐로 옮기고,
+   * 재시도 큐의 TTL이 지나면 다시 샤드 큐로 돌려보내므로 실패한 메시지를 곧바로 다시 받지 않음
+   */
+  @Bean
+  public Declarables fanoutQueues(DirectExchange fanoutExchange) {
+    List<Declarable> declarables = new ArrayList<>();
+    for (String lane : List.of(RabbitMQConstants.FANOUT_EXPRESS_LANE,
+        RabbitMQConstants.FANOUT_BULK_LANE)) {
+      for (int shard = 0; shard < shardCount; shard++) {
+        String queueName = RabbitMQConstants.fanoutQueueName(lane, shard);
+        String retryQueueName = RabbitMQConstants.fanoutRetryQueueName(lane, shard);
+        Queue queue = QueueBuilder.durable(queueName).deadLetterExchange("")
+            .deadLetterRoutingKey(retryQueueName).build();
+        declarables.add(queue);
+        declarables.add(BindingBuilder.bind(queue).to(fanoutExchange).with(queueName));
+        declarables.add(QueueBuilder.durable(retryQueueName).ttl(redeliveryDelayMillis)
+            .deadLetterExchange("").deadLetterRoutingKey(queueName).build());
+      }
+    }
+    return new Declarables(declarables);
   }
 
   @Bean
@@ -35,6 +95,29 @@ public class RabbitMQConfig {
     return new Jackson2JsonMessageConverter();
   }
 
+  /**
+   * 팬아웃 전용 리스너 컨테이너 팩토리
+   * 여러 컨슈머가 동시에 소비하여 큰 팬아웃 하나가 뒤에 쌓인 다른 작성자의 포스트를 막지 않도록 하고,
+   * 메시지를 배치로 받아 리스너 호출과 ack 비용을 줄이되, 배치가 차기를 오래 기다리지 않도록 대기 시간을 제한
+   * 처리(또는 데드레터 전송)가 끝난 메시지만 리스너가 직접 ack (MANUAL)
+   */
+  @Bean(name = RabbitMQConstants.FANOUT_CONTAINER_FACTORY)
+  public SimpleRabbitListenerContainerFactory fanoutListenerContainerFactory(
+      ConnectionFactory connectionFactory) {
+    SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+    factory.setConnectionFactory(connectionFactory);
+    factory.setMessageConverter(jsonMessageConverter());
+    factory.setConcurrentConsumers(concurrency);
+    factory.setMaxConcurrentConsumers(maxConcurrency);
+    factory.setPrefetchCount(prefetch);
+    factory.setBatchListener(true);
+    factory.setConsumerBatchEnabled(true);
+    factory.setBatchSize(batchSize);
+    factory.setBatchReceiveTimeout(batchReceiveTimeoutMillis);
+    factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+    return factory;
+  }
+
   @Bean
   public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
     RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
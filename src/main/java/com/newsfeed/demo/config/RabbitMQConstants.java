@@ -5,14 +5,36 @@ package com.newsfeed.demo.config;
  */
 public final class RabbitMQConstants {
 
-  // 큐 이름
-  public static final String FANOUT_QUEUE = "fanout.queue";
+  // 팬아웃 레인 (소규모 팬아웃용 express, 대규모 팬아웃용 bulk), 레인마다 샤드 큐를 둠
+  public static final String FANOUT_EXPRESS_LANE = "express";
+  public static final String FANOUT_BULK_LANE = "bulk";
+
+  // 샤드 큐 도입 전의 단일 팬아웃 큐 (남은 메시지를 모두 소비할 때까지 리스너 유지, 더 이상 전송하지 않음)
+  public static final String FANOUT_LEGACY_QUEUE = "fanout.queue";
+  public static final String FANOUT_LEGACY_LANE = "legacy";
+
+  // 재시도 후에도 실패한 팔로워 청크를 보관하는 데드레터 큐 (기본 익스체인지로 큐 이름을 라우팅 키로 전송)
+  public static final String FANOUT_DEAD_LETTER_QUEUE = "fanout.dlq";
 
   // 익스체인지 이름
   public static final String FANOUT_EXCHANGE = "fanout.exchange";
 
-  // 라우팅 키
-  public static final String FANOUT_ROUTING_KEY = "fanout.routing.key";
+  // 팬아웃 리스너 컨테이너 팩토리 빈 이름
+  public static final String FANOUT_CONTAINER_FACTORY = "fanoutListenerContainerFactory";
+
+  /**
+   * 레인과 샤드 번호로 팬아웃 큐 이름 생성 (큐 이름을 라우팅 키로도 사용)
+   */
+  public static String fanoutQueueName(String lane, int shard) {
+    return "fanout." + lane + "." + shard;
+  }
+
+  /**
+   * 샤드 큐의 재시도 큐 이름 (처리에 실패한 메시지가 지연 후 샤드 큐로 돌아가기 전까지 머무는 큐)
+   */
+  public static String fanoutRetryQueueName(String lane, int shard) {
+    return fanoutQueueName(lane, shard) + ".retry";
+  }
 
   private RabbitMQConstants() {
     // 유틸리티 클래스이므로 인스턴스화 방지
@@ -2,10 +2,13 @@ package com.newsfeed.demo.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.newsfeed.demo.common.cache.NearCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.web.client.RestTemplate;
@@ -34,6 +37,17 @@ public class RedisConfig {
     return template;
   }
 
+  // 니어 캐시 무효화 메시지 구독
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(
+      RedisConnectionFactory connectionFactory, NearCacheManager nearCacheManager) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(nearCacheManager,
+        new ChannelTopic(NearCacheManager.INVALIDATION_CHANNEL));
+    return container;
+  }
+
   @Bean
   public RestTemplate restTemplate() {
     return new RestTemplate();
@@ -0,0 +1,28 @@
+package com.newsfeed.demo.config;
+
+import java.time.Clock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+public class SchedulingConfig {
+
+  // 스케줄 작업이 시각을 읽는 시계 (테스트에서 교체하여 시간에 의존하지 않고 검증)
+  @Bean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+
+  /**
+   * 스케줄 작업 활성화 (스레드 수는 spring.task.scheduling.pool.size)
+   * 테스트에서는 끄고 작업 메서드를 직접 호출하여 백그라운드 실행과 겹치지 않도록 함
+   */
+  @Configuration
+  @EnableScheduling
+  @ConditionalOnProperty(name = "newsfeed.scheduling.enabled", havingValue = "true",
+      matchIfMissing = true)
+  static class EnabledSchedulingConfig {
+  }
+}
@@ -0,0 +1,37 @@
+package com.newsfeed.demo.config;
+
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import jakarta.servlet.http.HttpServletRequest;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private static final String EXPORT_PATH_SUFFIX = "/export";
+
+  // 내보내기 다운로드(StreamingResponseBody)에만 적용하는 비동기 요청 타임아웃
+  // 다른 비동기 요청은 기본 타임아웃을 그대로 사용
+  @Value("${newsfeed.export.async-timeout-ms:600000}")
+  private long exportAsyncTimeoutMillis;
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+      // 비동기 처리를 시작하기 전에 호출되므로 여기서 바꾼 타임아웃이 그대로 적용됨
+      @Override
+      public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (request instanceof AsyncWebRequest asyncRequest && servletRequest != null
+            && servletRequest.getRequestURI().endsWith(EXPORT_PATH_SUFFIX)) {
+          asyncRequest.setTimeout(exportAsyncTimeoutMillis);
+        }
+      }
+    });
+  }
+}
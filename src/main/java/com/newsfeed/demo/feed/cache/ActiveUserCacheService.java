@@ -0,0 +1,134 @@
+package com.newsfeed.demo.feed.cache;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.BitOperation;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 활성 사용자 캐시 서비스 - 뉴스피드를 조회한 사용자를 일별 비트맵(사용자 ID가 비트 오프셋)에 기록
+ * 팬아웃은 최근 활성 사용자에게만 쓰고, 휴면 사용자의 뉴스피드는 돌아왔을 때 캐시 미스로 재구성됨
+ * 최근 activeDays일의 비트맵을 주기적으로 OR한 집계 비트맵과 오늘/어제 비트맵을 함께 확인하여
+ * 집계 이후의 활동도 놓치지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveUserCacheService {
+
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  private static final String DAILY_KEY_PREFIX = "activity:day:";
+  private static final String RECENT_KEY = "activity:recent";
+  private static final String RECENT_TMP_KEY = "activity:recent:tmp";
+  private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+  private static final long MAX_BIT_OFFSET = (1L << 32) - 1; // Redis 비트맵 최대 오프셋
+
+  // 이 기간 안에 뉴스피드를 조회한 사용자만 팬아웃 대상 (뉴스피드 캐시 TTL보다 길어야 함)
+  @Value("${newsfeed.activity.active-days:7}")
+  private int activeDays;
+
+  /**
+   * 사용자를 오늘의 활성 사용자로 기록 (SETBIT, 비트맵은 activeDays + 1일 후 만료)
+   */
+  public void markActive(Long userId) {
+    if (userId > MAX_BIT_OFFSET) {
+      return;
+    }
+    try {
+      byte[] key = rawKey(dailyKey(LocalDate.now()));
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        connection.stringCommands().setBit(key, userId, true);
+        connection.keyCommands().expire(key, TimeUnit.DAYS.toSeconds(activeDays + 1L));
+        return null;
+      });
+    } catch (Exception e) {
+      log.error("활성 사용자 기록 실패: userId={}", userId, e);
+    }
+  }
+
+  /**
+   * 주어진 사용자 중 최근 활성 사용자만 필터링 (한 번의 파이프라인으로 GETBIT)
+   * 확인에 실패하면 모든 사용자를 활성으로 간주하여 뉴스피드가 갱신되지 않는 일이 없도록 함
+   */
+  public List<Long> filterActive(List<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return userIds;
+    }
+    try {
+      LocalDate today = LocalDate.now();
+      byte[][] keys = {rawKey(RECENT_KEY), rawKey(dailyKey(today)),
+          rawKey(dailyKey(today.minusDays(1)))};
+      List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        for (Long userId : userIds) {
+          for (byte[] key : keys) {
+            connection.stringCommands().getBit(key, Math.min(userId, MAX_BIT_OFFSET));
+          }
+        }
+        return null;
+      });
+
+      List<Long> activeUserIds = new ArrayList<>();
+      for (int i = 0; i < userIds.size(); i++) {
+        Long userId = userIds.get(i);
+        boolean active = userId > MAX_BIT_OFFSET;
+        for (int k = 0; k < keys.length && !active; k++) {
+          active = Boolean.TRUE.equals(results.get(i * keys.length + k));
+        }
+        if (active) {
+          activeUserIds.add(userId);
+        }
+      }
+      return activeUserIds;
+    } catch (Exception e) {
+      log.error("활성 사용자 필터링 실패, 모든 사용자에게 팬아웃: userCount={}", userIds.size(), e);
+      return userIds;
+    }
+  }
+
+  /**
+   * 최근 activeDays일의 일별 비트맵을 OR하여 집계 비트맵 갱신 (임시 키에 만든 뒤 RENAME으로 교체)
+   */
+  @Scheduled(fixedDelayString = "${newsfeed.activity.refresh-interval-ms:600000}")
+  public void refreshRecentActiveUsers() {
+    try {
+      LocalDate today = LocalDate.now();
+      byte[][] dailyKeys = new byte[activeDays][];
+      for (int day = 0; day < activeDays; day++) {
+        dailyKeys[day] = rawKey(dailyKey(today.minusDays(day)));
+      }
+      byte[] tmpKey = rawKey(RECENT_TMP_KEY);
+      byte[] recentKey = rawKey(RECENT_KEY);
+      redisTemplate.execute((RedisCallback<Object>) connection -> {
+        Long size = connection.stringCommands().bitOp(BitOperation.OR, tmpKey, dailyKeys);
+        if (size != null && size > 0) {
+          connection.keyCommands().rename(tmpKey, recentKey);
+        } else {
+          // 최근 활성 사용자가 없으면 BITOP이 키를 만들지 않으므로 집계 비트맵도 제거
+          connection.keyCommands().del(recentKey);
+        }
+        return null;
+      });
+      log.debug("최근 활성 사용자 비트맵 갱신: activeDays={}", activeDays);
+    } catch (Exception e) {
+      log.error("최근 활성 사용자 비트맵 갱신 실패", e);
+    }
+  }
+
+  private String dailyKey(LocalDate day) {
+    return DAILY_KEY_PREFIX + day.format(DAY_FORMAT);
+  }
+
+  private byte[] rawKey(String key) {
+    return redisTemplate.getStringSerializer().serialize(key);
+  }
+}
@@ -0,0 +1,335 @@
+package com.newsfeed.demo.feed.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 작성자 타임라인 캐시 서비스 - 작성자별 최근 포스트 ID를 보관
+ * 셀럽 포스트의 읽기 시 병합과 뉴스피드 재구성 시 팔로잉 작성자 타임라인 병합에 사용
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorTimelineCacheService {
+
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  private static final String TIMELINE_KEY_PREFIX = "timeline:author:";
+  // DB에서 타임라인을 읽는 동안 추가된 포스트를 모아 두는 키 (구성 시 타임라인에 합친 뒤 삭제)
+  private static final String TIMELINE_PENDING_KEY_PREFIX = "timeline:author-pending:";
+  private static final int TIMELINE_PENDING_TTL = 30; // 구성이 끝나지 않아도 정리되도록 30초
+  private static final String CELEBRITY_SET_KEY = "timeline:celebrities";
+  private static final String CELEBRITY_FOLLOWING_KEY_PREFIX = "timeline:celebrity-following:";
+  // 셀럽이 새로 등록될 때마다 증가하는 세대 번호 (셀럽 팔로잉 캐시에 함께 저장하여 무효화에 사용)
+  private static final String CELEBRITY_GENERATION_KEY = "timeline:celebrities:generation";
+  private static final int TIMELINE_CACHE_TTL = 86400; // 24시간
+  public static final int MAX_TIMELINE_SIZE = 200; // 작성자별 최대 캐시 크기
+  private static final int CELEBRITY_FOLLOWING_CACHE_TTL = 300; // 5분
+  private static final int SCORE_PRECISION_SLACK = 64; // 커서 조회 시 추가로 읽을 포스트 수
+  // 구성된 타임라인임을 표시하는 멤버 (score 0, 조회 시 제외되고 크기 제한 시에도 유지)
+  private static final String TIMELINE_SENTINEL_MEMBER = "0";
+  private static final double MIN_POST_SCORE = 1;
+
+  /**
+   * 구성된 타임라인에만 포스트 추가(ZADD), 센티널을 남기고 크기 제한(ZREMRANGEBYRANK), TTL 갱신(EXPIRE)
+   * 타임라인이 없지만 DB에서 구성 중이면 대기 키에 추가하여 구성 결과에 합쳐지도록 함
+   * KEYS[1]: 타임라인 키, KEYS[2]: 구성 대기 키
+   * ARGV[1]: score(포스트 ID), ARGV[2]: 포스트 ID, ARGV[3]: 최대 크기, ARGV[4]: TTL(초)
+   */
+  private static final RedisScript<Long> ADD_TO_TIMELINE_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('EXISTS', KEYS[1]) == 0 then "
+          + "if redis.call('EXISTS', KEYS[2]) == 1 then "
+          + "redis.call('ZADD', KEYS[2], ARGV[1], ARGV[2]) return 2 end "
+          + "return 0 end "
+          + "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+          + "redis.call('ZREMRANGEBYRANK', KEYS[1], 1, -(tonumber(ARGV[3]) + 1)) "
+          + "redis.call('EXPIRE', KEYS[1], ARGV[4]) "
+          + "return 1",
+      Long.class);
+
+  /**
+   * 작성자 타임라인 조회 결과
+   * hasMore가 true이면 postIds의 마지막 ID보다 오래된 포스트가 더 있을 수 있음
+   */
+  public record Timeline(List<Long> postIds, boolean hasMore) {}
+
+  /**
+   * 셀럽 팔로잉 캐시 조회 결과
+   * celebrityIds가 null이면 캐시에 없거나 이후 새 셀럽이 등록되어 다시 계산해야 함
+   * 다시 계산한 목록은 조회 시점의 generation으로 저장하여, 계산 중 등록된 셀럽도 다음 조회에서 반영
+   */
+  public record CelebrityFollowing(long generation, List<Long> celebrityIds) {}
+
+  /**
+   * 작성자 타임라인에 포스트 ID 추가 (score는 포스트 ID, 이미 구성된 타임라인에만 추가)
+   * 타임라인이 없는 작성자는 다음 조회 시 DB에서 구성되며 이 포스트도 포함됨
+   * (구성 중이면 대기 키에 추가되어 DB 조회 이후에 커밋된 포스트도 빠지지 않음)
+   */
+  public void addToTimeline(Long authorId, Long postId) {
+    List<String> keys =
+        List.of(TIMELINE_KEY_PREFIX + authorId, TIMELINE_PENDING_KEY_PREFIX + authorId);
+    try {
+      redisTemplate.execute(ADD_TO_TIMELINE_SCRIPT, keys, postId, postId.toString(),
+          MAX_TIMELINE_SIZE, TIMELINE_CACHE_TTL);
+      log.debug("작성자 타임라인에 포스트 추가: authorId={}, postId={}", authorId, postId);
+    } catch (Exception e) {
+      log.error("작성자 타임라인 추가 실패: authorId={}, postId={}", authorId, postId, e);
+    }
+  }
+
+  /**
+   * 작성자 타임라인을 DB에서 읽기 전에 구성 시작을 표시 (구성 대기 키 생성)
+   * 이후 추가되는 포스트는 타임라인이 아직 없어도 대기 키에 모였다가 cacheTimelines에서 합쳐짐
+   */
+  public void beginTimelineLoad(Collection<Long> authorIds) {
+    if (authorIds.isEmpty()) {
+      return;
+    }
+    try {
+      byte[] sentinel = rawValue(TIMELINE_SENTINEL_MEMBER);
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        for (Long authorId : authorIds) {
+          byte[] pendingKey = rawKey(TIMELINE_PENDING_KEY_PREFIX + authorId);
+          connection.zSetCommands().zAdd(pendingKey, 0.0, sentinel);
+          connection.keyCommands().expire(pendingKey, TIMELINE_PENDING_TTL);
+        }
+        return null;
+      });
+    } catch (Exception e) {
+      log.error("작성자 타임라인 구성 시작 표시 실패: authorCount={}", authorIds.size(), e);
+    }
+  }
+
+  /**
+   * DB에서 조회한 최신 포스트 ID(최대 MAX_TIMELINE_SIZE개)로 작성자 타임라인 재구성
+   * 포스트가 없는 작성자도 센티널만 담은 타임라인으로 저장
+   */
+  public void cacheTimeline(Long authorId, List<Long> postIds) {
+    cacheTimelines(Map.of(authorId, postIds));
+  }
+
+  /**
+   * 여러 작성자의 타임라인을 한 번의 파이프라인으로 재구성
+   * (작성자별 MULTI + ZADD + ZUNIONSTORE + DEL + ZREMRANGEBYRANK + EXPIRE)
+   * 기존 타임라인을 지우지 않고 DB 조회 결과와 구성 중 대기 키에 모인 포스트를 합친 뒤 크기를 제한하므로,
+   * DB 조회 이후에 추가된 포스트가 이전 스냅샷으로 덮어써지지 않음
+   */
+  public void cacheTimelines(Map<Long, List<Long>> timelines) {
+    if (timelines.isEmpty()) {
+      return;
+    }
+    try {
+      byte[] sentinel = rawValue(TIMELINE_SENTINEL_MEMBER);
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        timelines.forEach((authorId, postIds) -> {
+          byte[] key = rawKey(TIMELINE_KEY_PREFIX + authorId);
+          byte[] pendingKey = rawKey(TIMELINE_PENDING_KEY_PREFIX + authorId);
+          Set<Tuple> tuples = new HashSet<>();
+          tuples.add(new DefaultTuple(sentinel, 0.0));
+          postIds.stream().limit(MAX_TIMELINE_SIZE).forEach(postId -> tuples
+              .add(new DefaultTuple(rawValue(postId.toString()), postId.doubleValue())));
+
+          connection.multi();
+          connection.zSetCommands().zAdd(key, tuples);
+          // score가 포스트 ID이므로 같은 멤버는 score도 같음 (MAX로 합쳐도 그대로)
+          connection.zSetCommands().zUnionStore(key, Aggregate.MAX, Weights.fromSetCount(2), key,
+              pendingKey);
+          connection.keyCommands().del(pendingKey);
+          connection.zSetCommands().zRemRange(key, 1, -(MAX_TIMELINE_SIZE + 1));
+          connection.keyCommands().expire(key, TIMELINE_CACHE_TTL);
+          connection.exec();
+        });
+        return null;
+      });
+      log.debug("작성자 타임라인 재구성: authorCount={}", timelines.size());
+    } catch (Exception e) {
+      log.error("작성자 타임라인 재구성 실패: authorIds={}", timelines.keySet(), e);
+    }
+  }
+
+  /**
+   * 여러 작성자의 타임라인을 한 번의 파이프라인으로 조회 (작성자별 최대 size개)
+   * 캐시에 없는(콜드) 작성자는 결과 Map에 포함하지 않음
+   */
+  public Map<Long, Timeline> getTimelines(List<Long> authorIds, Long cursor, int size) {
+    Map<Long, Timeline> timelines = new HashMap<>();
+    if (authorIds.isEmpty()) {
+      return timelines;
+    }
+    try {
+      List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        for (Long authorId : authorIds) {
+          byte[] key = rawKey(TIMELINE_KEY_PREFIX + authorId);
+          connection.zSetCommands().zCard(key);
+          if (cursor != null) {
+            // double score 반올림으로 커서와 같은 score가 될 수 있는 포스트만큼 더 조회한 뒤 걸러냄
+            connection.zSetCommands().zRevRangeByScore(key, MIN_POST_SCORE, cursor, 0,
+                size + SCORE_PRECISION_SLACK);
+          } else {
+            connection.zSetCommands().zRevRangeByScore(key, MIN_POST_SCORE,
+                Double.POSITIVE_INFINITY, 0, size);
+          }
+        }
+        return null;
+      });
+
+      for (int i = 0; i < authorIds.size(); i++) {
+        Long cardinality = (Long) results.get(i * 2);
+        if (cardinality == null || cardinality == 0) {
+          continue;
+        }
+        Collection<?> postIds = (Collection<?>) results.get(i * 2 + 1);
+        List<Long> timeline = new ArrayList<>();
+        if (postIds != null) {
+          postIds.stream().map(id -> Long.valueOf(id.toString()))
+              .filter(postId -> cursor == null || postId < cursor).limit(size)
+              .forEach(timeline::add);
+        }
+        // 요청한 만큼 채웠거나 크기 제한으로 오래된 포스트가 잘린 타임라인은 더 오래된 포스트가 있을 수 있음
+        boolean hasMore = timeline.size() == size || cardinality - 1 >= MAX_TIMELINE_SIZE;
+        timelines.put(authorIds.get(i), new Timeline(timeline, hasMore));
+      }
+    } catch (Exception e) {
+      log.error("작성자 타임라인 조회 실패: authorCount={}", authorIds.size(), e);
+    }
+    return timelines;
+  }
+
+  /**
+   * 셀럽 작성자로 등록 (한 번 등록되면 이후 포스트는 팬아웃하지 않음)
+   * 새로 등록되면 세대 번호를 올려 모든 사용자의 셀럽 팔로잉 캐시를 무효화 (팔로워마다 키를 지우지 않음)
+   */
+  public void markCelebrity(Long authorId) {
+    try {
+      Long added = redisTemplate.opsForSet().add(CELEBRITY_SET_KEY, authorId.toString());
+      if (added != null && added > 0) {
+        redisTemplate.opsForValue().increment(CELEBRITY_GENERATION_KEY);
+      }
+    } catch (Exception e) {
+      log.error("셀럽 작성자 등록 실패: authorId={}", authorId, e);
+    }
+  }
+
+  /**
+   * 셀럽 작성자 여부 확인
+   */
+  public boolean isCelebrity(Long authorId) {
+    try {
+      return Boolean.TRUE
+          .equals(redisTemplate.opsForSet().isMember(CELEBRITY_SET_KEY, authorId.toString()));
+    } catch (Exception e) {
+      log.error("셀럽 작성자 확인 실패: authorId={}", authorId, e);
+      return false;
+    }
+  }
+
+  /**
+   * 주어진 작성자 중 셀럽 작성자만 필터링
+   */
+  public List<Long> filterCelebrities(List<Long> authorIds) {
+    if (authorIds.isEmpty()) {
+      return List.of();
+    }
+    try {
+      Object[] members = authorIds.stream().map(Object::toString).toArray();
+      Map<Object, Boolean> result = redisTemplate.opsForSet().isMember(CELEBRITY_SET_KEY, members);
+      if (result == null) {
+        return List.of();
+      }
+      return authorIds.stream().filter(id -> Boolean.TRUE.equals(result.get(id.toString())))
+          .collect(Collectors.toList());
+    } catch (Exception e) {
+      log.error("셀럽 작성자 필터링 실패: authorCount={}", authorIds.size(), e);
+      return List.of();
+    }
+  }
+
+  /**
+   * 사용자가 팔로우 중인 셀럽 작성자 ID 목록 캐시 조회 (세대 번호와 함께 MGET 1회)
+   * 캐시에 없거나 저장 이후 새 셀럽이 등록되었으면 celebrityIds가 null
+   */
+  public CelebrityFollowing getCachedCelebrityFollowing(Long userId) {
+    String key = CELEBRITY_FOLLOWING_KEY_PREFIX + userId;
+    long generation = 0;
+    try {
+      List<Object> values = redisTemplate.opsForValue()
+          .multiGet(List.of(CELEBRITY_GENERATION_KEY, key));
+      if (values == null) {
+        return new CelebrityFollowing(generation, null);
+      }
+      if (values.get(0) != null) {
+        generation = Long.parseLong(values.get(0).toString());
+      }
+      Object cached = values.get(1);
+      if (cached == null) {
+        return new CelebrityFollowing(generation, null);
+      }
+      // 저장 형식: "{세대 번호}|{쉼표로 구분한 셀럽 ID}"
+      String[] parts = cached.toString().split("\\|", 2);
+      if (parts.length < 2 || Long.parseLong(parts[0]) != generation) {
+        return new CelebrityFollowing(generation, null);
+      }
+      List<Long> celebrityIds = parts[1].isEmpty() ? List.of()
+          : Arrays.stream(parts[1].split(",")).map(Long::valueOf).collect(Collectors.toList());
+      return new CelebrityFollowing(generation, celebrityIds);
+    } catch (Exception e) {
+      log.error("셀럽 팔로잉 캐시 조회 실패: userId={}", userId, e);
+      return new CelebrityFollowing(generation, null);
+    }
+  }
+
+  /**
+   * 사용자가 팔로우 중인 셀럽 작성자 ID 목록 캐시에 저장 (빈 목록도 저장, 순서 유지)
+   */
+  public void cacheCelebrityFollowing(Long userId, long generation, List<Long> celebrityIds) {
+    String key = CELEBRITY_FOLLOWING_KEY_PREFIX + userId;
+    try {
+      String joined = generation + "|"
+          + celebrityIds.stream().map(Object::toString).collect(Collectors.joining(","));
+      redisTemplate.opsForValue().set(key, joined, CELEBRITY_FOLLOWING_CACHE_TTL, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      log.error("셀럽 팔로잉 캐시 저장 실패: userId={}", userId, e);
+    }
+  }
+
+  /**
+   * 사용자가 팔로우 중인 셀럽 작성자 ID 목록 캐시 무효화
+   */
+  public void invalidateCelebrityFollowing(Long userId) {
+    try {
+      redisTemplate.delete(CELEBRITY_FOLLOWING_KEY_PREFIX + userId);
+    } catch (Exception e) {
+      log.error("셀럽 팔로잉 캐시 무효화 실패: userId={}", userId, e);
+    }
+  }
+
+  private byte[] rawKey(String key) {
+    return redisTemplate.getStringSerializer().serialize(key);
+  }
+
+  // RedisTemplate의 값 직렬화 방식과 동일하게 인코딩 (opsForZSet으로 조회 가능하도록)
+  @SuppressWarnings("unchecked")
+  private byte[] rawValue(Object value) {
+    return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+  }
+}
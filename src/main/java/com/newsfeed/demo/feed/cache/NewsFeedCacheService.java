@@ -2,12 +2,27 @@ package com.newsfeed.demo.feed.cache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -16,36 +31,327 @@ public class NewsFeedCacheService {
 
   private final RedisTemplate<String, Object> redisTemplate;
 
-  private static final String NEWS_FEED_KEY_PREFIX = "newsfeed:user:";
+  // 키 버전: v2 score를 포스트 ID로 변경, v3 재구성된 키에 센티널 멤버 추가
+  private static final String NEWS_FEED_KEY_PREFIX = "newsfeed:v3:user:";
   private static final int NEWS_FEED_CACHE_TTL = 3600; // 1시간
-  private static final int MAX_FEED_SIZE = 1000; // 최대 캐시 크기 (1000개 포스트)
-  private static final int CACHE_MISS_THRESHOLD = 100; // Cache Miss 임계값 (100개 미만이면 Cache Miss로 간주)
+  public static final int MAX_FEED_SIZE = 1000; // 최대 캐시 크기 (1000개 포스트)
+  private static final int SCORE_PRECISION_SLACK = 64; // 커서 조회 시 추가로 읽을 포스트 수
+  private static final String REBUILD_LOCK_KEY_PREFIX = "newsfeed:v2:rebuild-lock:";
+  // 재구성 중 아직 뉴스피드 키가 없는 사용자에게 팬아웃된 포스트를 모아두는 키
+  private static final String REBUILD_PENDING_KEY_PREFIX = "newsfeed:v3:rebuild-pending:";
+  private static final int REBUILD_PENDING_TTL = 30; // 재구성이 끝나지 않아도 정리되도록 30초
+  // 재구성된 뉴스피드임을 표시하는 멤버 (score 0, 조회 시 제외되고 크기 제한 시에도 유지)
+  // 포스트가 없는 사용자도 키가 존재하므로, 키 존재 여부만으로 캐시 미스를 판단
+  private static final String FEED_SENTINEL_MEMBER = "0";
+  private static final double MIN_POST_SCORE = 1;
+  // 재구성 시 오래된 포스트를 일부만 담은 뉴스피드의 센티널 score
+  private static final double TRUNCATED_SENTINEL_SCORE = -1;
+  private static final String NO_SCRIPT_ERROR = "NOSCRIPT";
+
+  // 자신이 획득한 잠금일 때만 삭제
+  private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('DEL', KEYS[1]) else return 0 end",
+      Long.class);
+
+  /**
+   * 포스트 추가(ZADD), 크기 제한(ZREMRANGEBYRANK), TTL 갱신(EXPIRE)을 한 번에 처리하는 스크립트
+   * 재구성된 키에만 추가 (키가 없는 사용자는 다음 조회 시 DB에서 재구성되며 이 포스트도 포함됨)
+   * 키가 없어도 재구성 중이면 대기 키에 모아 재구성 결과를 저장할 때 함께 반영
+   * 크기 제한은 0번 순위의 센티널을 남기고 1번 순위부터 제거
+   * 몰아서 작성된 포스트 여러 개도 한 번의 ZADD로 추가
+   * KEYS[1]: 뉴스피드 키, KEYS[2]: 재구성 대기 키, ARGV[1]: 최대 크기, ARGV[2]: TTL(초),
+   * ARGV[3..]: score(포스트 ID)와 포스트 ID 쌍
+   */
+  private static final RedisScript<Long> ADD_TO_FEED_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('EXISTS', KEYS[1]) == 0 then "
+          + "  if redis.call('EXISTS', KEYS[2]) == 1 then "
+          + "    redis.call('ZADD', KEYS[2], unpack(ARGV, 3)) "
+          + "  end "
+          + "  return 0 "
+          + "end "
+          + "redis.call('ZADD', KEYS[1], unpack(ARGV, 3)) "
+          + "redis.call('ZREMRANGEBYRANK', KEYS[1], 1, -(tonumber(ARGV[1]) + 1)) "
+          + "redis.call('EXPIRE', KEYS[1], ARGV[2]) "
+          + "return 1",
+      Long.class);
 
   /**
-   * 사용자의 뉴스피드에 포스트 ID 추가 (Fanout)
+   * 재구성한 포스트를 뉴스피드에 반영하는 스크립트
+   * 키를 지우고 새로 쓰지 않고 기존 키에 ZADD하므로, 재구성 중 팬아웃으로 추가된 포스트가 남음
+   * 키가 없던 사용자에게 재구성 중 팬아웃된 포스트는 대기 키에서 옮겨옴
+   * 잘린 재구성이면 재구성 결과의 가장 오래된 포스트(floor)보다 오래된 포스트만 제거
+   * KEYS[1]: 뉴스피드 키, KEYS[2]: 재구성 대기 키, ARGV[1]: 센티널, ARGV[2]: 센티널 score,
+   * ARGV[3]: 최대 크기, ARGV[4]: TTL(초), ARGV[5]: floor(0이면 제거 안 함),
+   * ARGV[6..]: score(포스트 ID)와 포스트 ID 쌍
+   */
+  private static final RedisScript<Long> REPLACE_FEED_SCRIPT = new DefaultRedisScript<>(
+      "local pending = redis.call('ZRANGEBYSCORE', KEYS[2], 1, '+inf', 'WITHSCORES') "
+          + "redis.call('DEL', KEYS[2]) "
+          + "if tonumber(ARGV[5]) > 0 then "
+          + "  redis.call('ZREMRANGEBYSCORE', KEYS[1], 1, '(' .. ARGV[5]) "
+          + "end "
+          + "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) "
+          + "if #ARGV >= 6 then redis.call('ZADD', KEYS[1], unpack(ARGV, 6)) end "
+          + "for i = 1, #pending, 2 do "
+          + "  redis.call('ZADD', KEYS[1], pending[i + 1], pending[i]) "
+          + "end "
+          + "redis.call('ZREMRANGEBYRANK', KEYS[1], 1, -(tonumber(ARGV[3]) + 1)) "
+          + "redis.call('EXPIRE', KEYS[1], ARGV[4]) "
+          + "return 1",
+      Long.class);
+
+  /**
+   * 새로 팔로우한 작성자의 포스트를 재구성된 뉴스피드에 병합하는 스크립트
+   * 잘렸거나 가득 찬 뉴스피드에는 현재 가장 오래된 포스트보다 최신인 포스트만 추가하여 중간에 빈 구간이 생기지 않도록 함
+   * 기존 포스트는 지우지 않고 크기 제한만 적용
+   * KEYS[1]: 뉴스피드 키, ARGV[1]: 센티널, ARGV[2]: 최대 크기, ARGV[3]: TTL(초),
+   * ARGV[4..]: score(포스트 ID)와 포스트 ID 쌍
+   */
+  private static final RedisScript<Long> MERGE_INTO_FEED_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end "
+          + "local floor = 0 "
+          + "local sentinelScore = tonumber(redis.call('ZSCORE', KEYS[1], ARGV[1]) or '0') "
+          + "if sentinelScore < 0 or redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[2]) + 1 then "
+          + "  local oldest = redis.call('ZRANGEBYSCORE', KEYS[1], 1, '+inf', "
+          + "'WITHSCORES', 'LIMIT', 0, 1) "
+          + "  if oldest[2] then floor = tonumber(oldest[2]) end "
+          + "end "
+          + "local added = 0 "
+          + "for i = 4, #ARGV, 2 do "
+          + "  if tonumber(ARGV[i]) >= floor then "
+          + "    redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) added = added + 1 "
+          + "  end "
+          + "end "
+          + "redis.call('ZREMRANGEBYRANK', KEYS[1], 1, -(tonumber(ARGV[2]) + 1)) "
+          + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+          + "return added",
+      Long.class);
+
+  // 한 번의 파이프라인으로 처리할 팔로워 수
+  @Value("${newsfeed.fanout.pipeline-batch-size:500}")
+  private int pipelineBatchSize;
+
+  /**
+   * 사용자의 뉴스피드에 포스트 ID 추가 (Fanout, 재구성된 뉴스피드에만 추가)
    * 캐시 크기 제한을 적용하여 최신 포스트만 유지
+   * score를 포스트 ID로 저장하여 포스트 ID 커서로 바로 페이지네이션 가능
    */
   public void addToUserFeed(Long userId, Long postId) {
     String key = NEWS_FEED_KEY_PREFIX + userId;
     try {
-      // 포스트 추가
-      redisTemplate.opsForZSet().add(key, postId.toString(), System.currentTimeMillis());
-
-      // 캐시 크기 제한 적용
-      Long currentSize = redisTemplate.opsForZSet().size(key);
-      if (currentSize != null && currentSize > MAX_FEED_SIZE) {
-        // 가장 오래된 포스트들을 제거하여 크기 제한 유지
-        redisTemplate.opsForZSet().removeRange(key, 0, currentSize - MAX_FEED_SIZE - 1);
-        log.debug("뉴스피드 캐시 크기 제한 적용: userId={}, 제거된 포스트 수={}", userId, currentSize - MAX_FEED_SIZE);
-      }
-
-      redisTemplate.expire(key, NEWS_FEED_CACHE_TTL, TimeUnit.SECONDS);
+      redisTemplate.execute(ADD_TO_FEED_SCRIPT, List.of(key, REBUILD_PENDING_KEY_PREFIX + userId),
+          MAX_FEED_SIZE, NEWS_FEED_CACHE_TTL, postId, postId.toString());
       log.debug("뉴스피드 캐시에 포스트 추가: userId={}, postId={}", userId, postId);
     } catch (Exception e) {
       log.error("뉴스피드 캐시 추가 실패: userId={}, postId={}", userId, postId, e);
     }
   }
 
+  /**
+   * 여러 사용자의 뉴스피드에 포스트 ID 일괄 추가 (Fanout)
+   * 사용자별 스크립트 호출을 pipelineBatchSize 단위로 파이프라이닝하여 왕복 횟수를 줄임
+   * 같은 작성자가 몰아서 작성한 포스트는 사용자마다 한 번의 스크립트 호출로 함께 추가
+   * 같은 포스트를 다시 추가해도 결과가 같으므로(ZADD) 재전달이나 재시도에 안전
+   * 실패한 파이프라인의 사용자 ID를 반환하여 호출자가 그 부분만 재시도할 수 있도록 함
+   */
+  public List<Long> addToUserFeeds(List<Long> postIds, List<Long> userIds) {
+    byte[][] args = new byte[2 + postIds.size() * 2][];
+    args[0] = rawValue(MAX_FEED_SIZE);
+    args[1] = rawValue(NEWS_FEED_CACHE_TTL);
+    for (int i = 0; i < postIds.size(); i++) {
+      args[2 + i * 2] = rawValue(postIds.get(i));
+      args[3 + i * 2] = rawValue(postIds.get(i).toString());
+    }
+
+    List<Long> failedUserIds = new ArrayList<>();
+    for (int from = 0; from < userIds.size(); from += pipelineBatchSize) {
+      List<Long> batch = userIds.subList(from, Math.min(from + pipelineBatchSize, userIds.size()));
+      try {
+        executeAddToFeedsPipeline(batch, args);
+        log.debug("뉴스피드 캐시 일괄 추가: postIds={}, batchSize={}", postIds, batch.size());
+      } catch (Exception e) {
+        log.error("뉴스피드 캐시 일괄 추가 실패: postIds={}, batchSize={}", postIds, batch.size(), e);
+        failedUserIds.addAll(batch);
+      }
+    }
+    return failedUserIds;
+  }
+
+  /**
+   * 스크립트를 EVALSHA로 파이프라이닝 실행
+   * Redis에 스크립트가 없을 때(NOSCRIPT)만 스크립트를 로드한 뒤 한 번 재시도하고, 그 밖의 오류는 그대로 던짐
+   */
+  private void executeAddToFeedsPipeline(List<Long> userIds, byte[][] args) {
+    try {
+      pipelineAddToFeeds(userIds, args);
+    } catch (RuntimeException e) {
+      if (!isNoScriptError(e)) {
+        throw e;
+      }
+      log.debug("뉴스피드 추가 스크립트 재로드 후 재시도: cause={}", e.getMessage());
+      redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands()
+          .scriptLoad(ADD_TO_FEED_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+      pipelineAddToFeeds(userIds, args);
+    }
+  }
+
+  // 파이프라인 결과나 원인 중 하나라도 NOSCRIPT 오류인지 확인
+  private static boolean isNoScriptError(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause.getMessage() != null && cause.getMessage().contains(NO_SCRIPT_ERROR)) {
+        return true;
+      }
+      if (cause instanceof RedisPipelineException pipelineException) {
+        for (Object result : pipelineException.getPipelineResult()) {
+          if (result instanceof Throwable failure && isNoScriptError(failure)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private void pipelineAddToFeeds(List<Long> userIds, byte[][] args) {
+    String sha = ADD_TO_FEED_SCRIPT.getSha1();
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (Long userId : userIds) {
+        byte[][] keysAndArgs = new byte[args.length + 2][];
+        keysAndArgs[0] = rawKey(NEWS_FEED_KEY_PREFIX + userId);
+        keysAndArgs[1] = rawKey(REBUILD_PENDING_KEY_PREFIX + userId);
+        System.arraycopy(args, 0, keysAndArgs, 2, args.length);
+        connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 2, keysAndArgs);
+      }
+      return null;
+    });
+  }
+
+  private byte[] rawKey(String key) {
+    return redisTemplate.getStringSerializer().serialize(key);
+  }
+
+  // RedisTemplate의 값 직렬화 방식과 동일하게 인코딩 (opsForZSet으로 조회 가능하도록)
+  @SuppressWarnings("unchecked")
+  private byte[] rawValue(Object value) {
+    return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+  }
+
+  /**
+   * 뉴스피드 재구성 시작 표시 (작성자 타임라인을 읽기 전에 호출)
+   * 이후 뉴스피드 키가 없는 동안 팬아웃된 포스트는 대기 키에 모였다가 replaceUserFeed에서 반영됨
+   */
+  public void beginRebuild(Long userId) {
+    byte[] pendingKey = rawKey(REBUILD_PENDING_KEY_PREFIX + userId);
+    try {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        connection.zSetCommands().zAdd(pendingKey, 0.0, rawValue(FEED_SENTINEL_MEMBER));
+        connection.keyCommands().expire(pendingKey, REBUILD_PENDING_TTL);
+        return null;
+      });
+    } catch (Exception e) {
+      log.error("뉴스피드 재구성 시작 표시 실패: userId={}", userId, e);
+    }
+  }
+
+  /**
+   * 재구성한 포스트로 사용자의 뉴스피드를 채움 (스크립트 1회)
+   * 기존 키를 지우지 않고 ZADD하므로 재구성과 동시에 팬아웃된 포스트를 잃지 않음
+   * truncated이면 마지막 포스트보다 오래된 포스트가 캐시에 없다는 표시로 센티널 score를 음수로 저장하고,
+   * 그보다 오래된 기존 포스트는 제거하여 캐시가 빈 구간 없이 이어지도록 함
+   */
+  public void replaceUserFeed(Long userId, List<Long> postIds, boolean truncated) {
+    String key = NEWS_FEED_KEY_PREFIX + userId;
+    try {
+      List<Long> limited = postIds.subList(0, Math.min(postIds.size(), MAX_FEED_SIZE));
+      long floor = truncated && !limited.isEmpty() ? limited.get(limited.size() - 1) : 0L;
+      List<Object> args = new ArrayList<>(5 + limited.size() * 2);
+      args.add(FEED_SENTINEL_MEMBER);
+      args.add(truncated ? TRUNCATED_SENTINEL_SCORE : 0.0);
+      args.add(MAX_FEED_SIZE);
+      args.add(NEWS_FEED_CACHE_TTL);
+      args.add(floor);
+      for (Long postId : limited) {
+        args.add(postId);
+        args.add(postId.toString());
+      }
+      redisTemplate.execute(REPLACE_FEED_SCRIPT,
+          List.of(key, REBUILD_PENDING_KEY_PREFIX + userId), args.toArray());
+      log.debug("뉴스피드 캐시 교체: userId={}, postCount={}", userId, limited.size());
+    } catch (Exception e) {
+      log.error("뉴스피드 캐시 교체 실패: userId={}", userId, e);
+    }
+  }
+
+  /**
+   * 새로 팔로우한 작성자의 포스트를 재구성된 뉴스피드에 병합 (뉴스피드 키가 없으면 무시)
+   * postIds는 getFeedFloor 이상인 작성자 포스트를 모두 담아야 하며, 기존 포스트는 지우지 않음
+   */
+  public void mergeIntoUserFeed(Long userId, List<Long> postIds) {
+    String key = NEWS_FEED_KEY_PREFIX + userId;
+    try {
+      List<Object> args = new ArrayList<>(3 + postIds.size() * 2);
+      args.add(FEED_SENTINEL_MEMBER);
+      args.add(MAX_FEED_SIZE);
+      args.add(NEWS_FEED_CACHE_TTL);
+      postIds.stream().limit(MAX_FEED_SIZE).forEach(postId -> {
+        args.add(postId);
+        args.add(postId.toString());
+      });
+      Long added = redisTemplate.execute(MERGE_INTO_FEED_SCRIPT, List.of(key), args.toArray());
+      log.debug("뉴스피드 캐시에 작성자 포스트 병합: userId={}, added={}", userId, added);
+    } catch (Exception e) {
+      log.error("뉴스피드 캐시 병합 실패: userId={}", userId, e);
+    }
+  }
+
+  /**
+   * 뉴스피드가 담고 있는 가장 오래된 포스트 ID (잘렸거나 가득 찬 뉴스피드만, 전체를 담고 있으면 0)
+   * 이보다 오래된 포스트는 뉴스피드에 병합되지 않으므로 팔로우 시 이 ID까지만 작성자 포스트를 읽으면 됨
+   * 멤버가 포스트 ID 문자열이므로 double score의 반올림 없이 정확한 ID를 반환
+   */
+  public long getFeedFloor(Long userId) {
+    byte[] key = rawKey(NEWS_FEED_KEY_PREFIX + userId);
+    try {
+      List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        connection.zSetCommands().zScore(key, rawValue(FEED_SENTINEL_MEMBER));
+        connection.zSetCommands().zCard(key);
+        connection.zSetCommands().zRangeByScore(key, MIN_POST_SCORE, Double.POSITIVE_INFINITY, 0,
+            1);
+        return null;
+      });
+      Double sentinelScore = (Double) results.get(0);
+      Long cacheSize = (Long) results.get(1);
+      Collection<?> oldest = (Collection<?>) results.get(2);
+      boolean truncated = (sentinelScore != null && sentinelScore < 0)
+          || (cacheSize != null && cacheSize >= MAX_FEED_SIZE + 1);
+      if (!truncated || oldest == null || oldest.isEmpty()) {
+        return 0L;
+      }
+      return Long.parseLong(oldest.iterator().next().toString());
+    } catch (Exception e) {
+      log.error("뉴스피드 하한 조회 실패: userId={}", userId, e);
+      return 0L;
+    }
+  }
+
+  /**
+   * 사용자의 뉴스피드에서 여러 포스트 ID를 한 번에 제거 (언팔로우한 작성자의 포스트)
+   */
+  public void removeFromUserFeed(Long userId, Collection<Long> postIds) {
+    if (postIds.isEmpty()) {
+      return;
+    }
+    String key = NEWS_FEED_KEY_PREFIX + userId;
+    try {
+      Long removed = redisTemplate.opsForZSet().remove(key,
+          postIds.stream().map(Object::toString).toArray());
+      log.debug("뉴스피드 캐시에서 포스트 제거: userId={}, removed={}", userId, removed);
+    } catch (Exception e) {
+      log.error("뉴스피드 캐시 제거 실패: userId={}, postCount={}", userId, postIds.size(), e);
+    }
+  }
+
   /**
    * 사용자의 뉴스피드에서 포스트 ID 제거
    */
@@ -60,34 +366,28 @@ public class NewsFeedCacheService {
   }
 
   /**
-   * 사용자의 뉴스피드 조회 (캐시에서)
-   * Cache Miss 감지 및 처리 로직 포함
+   * 사용자의 뉴스피드 조회 (캐시에서, 센티널 제외)
    */
   public List<Long> getUserFeed(Long userId, Long cursor, int size) {
     String key = NEWS_FEED_KEY_PREFIX + userId;
     try {
       Set<Object> postIds;
       if (cursor != null) {
-        // 커서 기반 페이지네이션
-        postIds = redisTemplate.opsForZSet().reverseRangeByScore(
-            key, 0, cursor - 1, 0, size);
+        // 커서 기반 페이지네이션 (score가 포스트 ID이므로 커서보다 작은 포스트 ID 조회)
+        // Snowflake ID는 double score로 바뀌며 하위 비트가 반올림되므로 커서 이하를 넉넉히 읽고 걸러냄
+        Set<Object> candidates = redisTemplate.opsForZSet().reverseRangeByScore(
+            key, MIN_POST_SCORE, cursor, 0, size + SCORE_PRECISION_SLACK);
+        postIds = candidates == null ? null : candidates.stream()
+            .filter(id -> Long.parseLong(id.toString()) < cursor).limit(size)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
       } else {
         // 최신 포스트부터 조회
-        postIds = redisTemplate.opsForZSet().reverseRange(key, 0, size - 1);
+        postIds = redisTemplate.opsForZSet().reverseRangeByScore(key, MIN_POST_SCORE,
+            Double.POSITIVE_INFINITY, 0, size);
       }
 
       if (postIds != null) {
-        List<Long> result = postIds.stream()
-            .map(id -> Long.valueOf(id.toString()))
-            .toList();
-
-        // Cache Miss 감지: 요청한 크기보다 훨씬 적은 데이터가 있으면 Cache Miss로 간주
-        if (result.size() < CACHE_MISS_THRESHOLD && result.size() < size) {
-          log.warn("Cache Miss 감지: userId={}, 요청 크기={}, 실제 크기={}", userId, size, result.size());
-          // Cache Miss 이벤트를 기록하거나 알림을 보낼 수 있음
-        }
-
-        return result;
+        return postIds.stream().map(id -> Long.valueOf(id.toString())).toList();
       }
     } catch (Exception e) {
       log.error("뉴스피드 캐시 조회 실패: userId={}", userId, e);
@@ -96,19 +396,89 @@ public class NewsFeedCacheService {
   }
 
   /**
-   * Cache Miss 여부 확인
+   * 뉴스피드 캐시가 최대 크기에 도달했거나 재구성 시 일부만 담겨 오래된 포스트가 빠져 있는지 확인
+   * 잘린 상태라면 캐시 범위를 넘어선 페이지는 DB에서 조회해야 함
    */
-  public boolean isCacheMiss(Long userId, int requestedSize) {
+  public boolean isFeedTruncated(Long userId) {
     String key = NEWS_FEED_KEY_PREFIX + userId;
     try {
+      Double sentinelScore = redisTemplate.opsForZSet().score(key, FEED_SENTINEL_MEMBER);
+      if (sentinelScore != null && sentinelScore < 0) {
+        return true;
+      }
       Long cacheSize = redisTemplate.opsForZSet().size(key);
-      return cacheSize != null && cacheSize < CACHE_MISS_THRESHOLD && cacheSize < requestedSize;
+      return cacheSize != null && cacheSize >= MAX_FEED_SIZE + 1; // 센티널 포함
+    } catch (Exception e) {
+      log.error("뉴스피드 캐시 크기 확인 실패: userId={}", userId, e);
+      return true;
+    }
+  }
+
+  /**
+   * Cache Miss 여부 확인 (재구성된 뉴스피드 키가 없으면 미스)
+   */
+  public boolean isCacheMiss(Long userId) {
+    String key = NEWS_FEED_KEY_PREFIX + userId;
+    try {
+      return !Boolean.TRUE.equals(redisTemplate.hasKey(key));
     } catch (Exception e) {
       log.error("Cache Miss 확인 실패: userId={}", userId, e);
       return true; // 에러 발생 시 Cache Miss로 간주
     }
   }
 
+  /**
+   * 뉴스피드 재구성 잠금 획득 (여러 노드가 같은 사용자의 뉴스피드를 동시에 재구성하지 않도록 함)
+   * 획득하면 해제용 토큰을, 다른 노드가 재구성 중이면 null 반환
+   * Redis 오류 시에는 재구성이 막히지 않도록 해제가 필요 없는 빈 토큰 반환
+   */
+  public String tryLockRebuild(Long userId, long ttlMillis) {
+    String key = REBUILD_LOCK_KEY_PREFIX + userId;
+    try {
+      String token = UUID.randomUUID().toString();
+      Boolean acquired =
+          redisTemplate.opsForValue().setIfAbsent(key, token, Duration.ofMillis(ttlMillis));
+      return Boolean.TRUE.equals(acquired) ? token : null;
+    } catch (Exception e) {
+      log.error("뉴스피드 재구성 잠금 실패: userId={}", userId, e);
+      return "";
+    }
+  }
+
+  /**
+   * 뉴스피드 재구성 잠금 해제 (자신이 획득한 잠금만 해제)
+   */
+  public void unlockRebuild(Long userId, String token) {
+    if (token == null || token.isEmpty()) {
+      return;
+    }
+    try {
+      redisTemplate.execute(UNLOCK_SCRIPT, List.of(REBUILD_LOCK_KEY_PREFIX + userId), token);
+    } catch (Exception e) {
+      log.error("뉴스피드 재구성 잠금 해제 실패: userId={}", userId, e);
+    }
+  }
+
+  /**
+   * 만료 전 조기 갱신 여부 (XFetch)
+   * 남은 TTL이 -재구성 시간 * beta * ln(rand) 이하이면 갱신하여, 만료 직후 요청이 몰리기 전에
+   * 한 요청이 확률적으로 먼저 재구성하도록 함 (만료가 가까울수록 확률 증가)
+   */
+  public boolean shouldRefreshEarly(Long userId, long rebuildMillis, double beta) {
+    String key = NEWS_FEED_KEY_PREFIX + userId;
+    try {
+      Long ttlMillis = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+      if (ttlMillis == null || ttlMillis < 0) {
+        return false;
+      }
+      double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+      return -rebuildMillis * beta * Math.log(random) >= ttlMillis;
+    } catch (Exception e) {
+      log.error("뉴스피드 캐시 TTL 확인 실패: userId={}", userId, e);
+      return false;
+    }
+  }
+
   /**
    * 사용자의 뉴스피드 캐시 무효화
    */
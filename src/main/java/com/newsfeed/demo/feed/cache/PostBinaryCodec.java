@@ -0,0 +1,33 @@
+package com.newsfeed.demo.feed.cache;
+
+import org.springframework.data.redis.serializer.SerializationException;
+import com.newsfeed.demo.common.cache.codec.BinaryReader;
+import com.newsfeed.demo.common.cache.codec.BinaryWriter;
+import com.newsfeed.demo.common.cache.codec.CacheCodec;
+
+/**
+ * 포스트 바이너리 코덱 - 필드 순서가 곧 스키마이며, 필드를 바꾸면 FORMAT_VERSION을 올림
+ */
+public class PostBinaryCodec implements CacheCodec<PostSnapshot> {
+
+  private static final int FORMAT_VERSION = 1;
+  private static final int INITIAL_BUFFER_SIZE = 256;
+
+  @Override
+  public byte[] encode(PostSnapshot post) {
+    return new BinaryWriter(INITIAL_BUFFER_SIZE).writeByte(FORMAT_VERSION)
+        .writeVarLong(post.id()).writeVarLong(post.authorId()).writeString(post.content())
+        .writeStringList(post.mediaUrls()).writeDateTime(post.createdAt()).toByteArray();
+  }
+
+  @Override
+  public PostSnapshot decode(byte[] bytes) {
+    BinaryReader reader = new BinaryReader(bytes);
+    int version = reader.readByte();
+    if (version != FORMAT_VERSION) {
+      throw new SerializationException("지원하지 않는 포스트 캐시 형식: version=" + version);
+    }
+    return new PostSnapshot(reader.readVarLong(), reader.readVarLong(), reader.readString(),
+        reader.readStringList(), reader.readDateTime());
+  }
+}
@@ -1,9 +1,20 @@
 package com.newsfeed.demo.feed.cache;
 
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import com.newsfeed.demo.common.cache.NearCacheManager;
+import com.newsfeed.demo.common.cache.codec.CacheCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -13,58 +24,127 @@ import lombok.extern.slf4j.Slf4j;
 public class PostCacheService {
 
   private final RedisTemplate<String, Object> redisTemplate;
+  private final NearCacheManager nearCacheManager;
+  private final CacheCodec<PostSnapshot> postCacheCodec;
 
+  private static final String NEAR_CACHE_NAME = "post";
   private static final String POST_CACHE_KEY_PREFIX = "post:";
   private static final int POST_CACHE_TTL = 7200; // 2시간
   private static final int MAX_CACHED_POSTS = 100000; // 최대 캐시할 포스트 수
-  private static final String POST_COUNT_KEY = "post_cache:count";
+  // 캐시된 포스트 인덱스 (member: 포스트 ID, score: 마지막 저장 시각)
+  private static final String POST_CACHE_INDEX_KEY = "post_cache:index";
+  private static final int TRIM_BATCH_SIZE = 1000; // 한 번에 제거할 최대 포스트 수
+  private static final int MAX_TRIM_BATCHES_PER_RUN = 10; // 정리 주기당 최대 배치 수
 
   /**
-   * 포스트 데이터 캐시에 저장 (크기 제한 적용)
+   * 인덱스 정리 한 단계를 원자적으로 처리하는 스크립트
+   * 만료된 포스트를 최대 배치 크기만큼 제거한 뒤, 그 시점의 초과분만 계산해 가장 오래된 포스트부터 꺼냄
+   * 여러 노드가 동시에 실행해도 초과분은 스크립트 안에서 계산되므로 제한보다 많이 제거되지 않음
+   * KEYS[1]: 인덱스 키, ARGV[1]: 만료 기준 시각(ms), ARGV[2]: 최대 포스트 수, ARGV[3]: 배치 크기
+   * 반환: 제거한 만료 항목 수, 이어서 초과분으로 꺼낸 포스트 ID들
    */
-  public void cachePost(Long postId, Object postData) {
-    String key = POST_CACHE_KEY_PREFIX + postId;
-    try {
-      // 현재 캐시된 포스트 수 확인
-      Long currentCount = redisTemplate.opsForValue().increment(POST_COUNT_KEY, 0);
-      if (currentCount == null) {
-        currentCount = 0L;
-      }
-
-      // 크기 제한 확인
-      if (currentCount >= MAX_CACHED_POSTS) {
-        log.warn("포스트 캐시 크기 제한 도달: currentCount={}, maxCount={}", currentCount, MAX_CACHED_POSTS);
-        // 가장 오래된 포스트들을 제거 (TTL 기반으로 자동 만료되지만, 명시적으로 정리)
-        cleanupOldPosts();
-      }
-
-      // 포스트 캐시에 저장
-      redisTemplate.opsForValue().set(key, postData, POST_CACHE_TTL, TimeUnit.SECONDS);
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> TRIM_INDEX_SCRIPT = new DefaultRedisScript<>(
+      "local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], "
+          + "'LIMIT', 0, tonumber(ARGV[3])) "
+          + "if #expired > 0 then redis.call('ZREM', KEYS[1], unpack(expired)) end "
+          + "local result = {#expired} "
+          + "local excess = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[2]) "
+          + "if excess > 0 then "
+          + "  local popped = redis.call('ZPOPMIN', KEYS[1], math.min(excess, tonumber(ARGV[3]))) "
+          + "  for i = 1, #popped, 2 do result[#result + 1] = popped[i] end "
+          + "end "
+          + "return result",
+      List.class);
 
-      // 캐시된 포스트 수 증가 (이미 존재하는 키는 증가하지 않음)
-      if (!redisTemplate.hasKey(key)) {
-        redisTemplate.opsForValue().increment(POST_COUNT_KEY, 1);
-      }
+  /**
+   * 포스트 데이터 캐시에 저장 (크기 제한은 인덱스 ZSET 기준으로 백그라운드에서 적용)
+   */
+  public void cachePost(Long postId, PostSnapshot post) {
+    cachePosts(Map.of(postId, post));
+  }
 
-      log.debug("포스트 캐시 저장: postId={}, currentCount={}", postId, currentCount);
+  /**
+   * 여러 포스트 데이터를 파이프라인으로 한 번에 캐시에 저장 (SET + TTL, 인덱스 ZADD)
+   * 쓰기마다 인덱스에 저장 시각을 기록하는 O(log N) 비용만 들고, 정리는 trimCache에서 처리
+   */
+  public void cachePosts(Map<Long, PostSnapshot> posts) {
+    if (posts.isEmpty()) {
+      return;
+    }
+    try {
+      byte[] indexKey = rawKey(POST_CACHE_INDEX_KEY);
+      double now = System.currentTimeMillis();
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        posts.forEach((postId, post) -> {
+          connection.stringCommands().set(rawKey(POST_CACHE_KEY_PREFIX + postId),
+              postCacheCodec.encode(post), Expiration.seconds(POST_CACHE_TTL), SetOption.upsert());
+          connection.zSetCommands().zAdd(indexKey, now, rawIndexMember(postId));
+        });
+        return null;
+      });
+      log.debug("포스트 캐시 저장: postCount={}", posts.size());
     } catch (Exception e) {
-      log.error("포스트 캐시 저장 실패: postId={}", postId, e);
+      log.error("포스트 캐시 저장 실패: postIds={}", posts.keySet(), e);
     }
   }
 
   /**
-   * 포스트 데이터 캐시에서 조회
+   * 포스트 데이터 캐시에서 조회 (로컬 니어 캐시 우선, 없으면 Redis)
    */
-  public Object getCachedPost(Long postId) {
+  public PostSnapshot getCachedPost(Long postId) {
+    return (PostSnapshot) nearCacheManager.getCache(NEAR_CACHE_NAME).get(postId,
+        this::getRemoteCachedPost);
+  }
+
+  private Object getRemoteCachedPost(Long postId) {
     String key = POST_CACHE_KEY_PREFIX + postId;
     try {
-      return redisTemplate.opsForValue().get(key);
+      byte[] value = redisTemplate.execute(
+          (RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey(key)));
+      return decode(postId, value);
     } catch (Exception e) {
       log.error("포스트 캐시 조회 실패: postId={}", postId, e);
       return null;
     }
   }
 
+  /**
+   * 여러 포스트 데이터를 캐시에서 한 번에 조회 (로컬 니어 캐시 우선, 나머지는 Redis MGET 1회)
+   * 캐시에 없는 포스트는 결과 Map에 포함하지 않음
+   */
+  public Map<Long, PostSnapshot> getCachedPosts(Collection<Long> postIds) {
+    if (postIds.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, PostSnapshot> result = new HashMap<>();
+    nearCacheManager.getCache(NEAR_CACHE_NAME).getAll(postIds, this::getRemoteCachedPosts)
+        .forEach((postId, post) -> result.put(postId, (PostSnapshot) post));
+    return result;
+  }
+
+  private Map<Long, Object> getRemoteCachedPosts(List<Long> postIds) {
+    Map<Long, Object> result = new HashMap<>();
+    try {
+      byte[][] keys = postIds.stream().map(postId -> rawKey(POST_CACHE_KEY_PREFIX + postId))
+          .toArray(byte[][]::new);
+      List<byte[]> values = redisTemplate.execute(
+          (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys));
+      if (values == null) {
+        return result;
+      }
+      for (int i = 0; i < postIds.size(); i++) {
+        PostSnapshot post = decode(postIds.get(i), values.get(i));
+        if (post != null) {
+          result.put(postIds.get(i), post);
+        }
+      }
+    } catch (Exception e) {
+      log.error("포스트 캐시 일괄 조회 실패: postIds={}", postIds, e);
+    }
+    return result;
+  }
+
   /**
    * 포스트 캐시 무효화
    */
@@ -72,8 +152,8 @@ public class PostCacheService {
     String key = POST_CACHE_KEY_PREFIX + postId;
     try {
       redisTemplate.delete(key);
-      // 캐시된 포스트 수 감소
-      redisTemplate.opsForValue().decrement(POST_COUNT_KEY, 1);
+      redisTemplate.opsForZSet().remove(POST_CACHE_INDEX_KEY, postId.toString());
+      nearCacheManager.invalidate(NEAR_CACHE_NAME, postId);
       log.debug("포스트 캐시 무효화: postId={}", postId);
     } catch (Exception e) {
       log.error("포스트 캐시 무효화 실패: postId={}", postId, e);
@@ -81,27 +161,66 @@ public class PostCacheService {
   }
 
   /**
-   * 오래된 포스트들을 정리하여 캐시 크기 제한 유지
+   * 포스트 캐시 크기 제한 유지 (백그라운드)
+   * 만료된 포스트 제거와 초과분 제거를 배치 단위 스크립트로 원자적으로 처리
+   * 한 번에 처리하는 양을 제한하여 다른 클라이언트를 오래 막지 않음
    */
-  private void cleanupOldPosts() {
+  @Scheduled(fixedDelayString = "${newsfeed.cache.post-trim-interval-ms:10000}")
+  public void trimCache() {
     try {
-      // Redis의 모든 post: 키들을 조회하여 TTL이 짧은 것들을 우선적으로 제거
-      Set<String> keys = redisTemplate.keys(POST_CACHE_KEY_PREFIX + "*");
-      if (keys != null && keys.size() > MAX_CACHED_POSTS * 0.8) { // 80% 도달 시 정리
-        // TTL이 짧은 키들을 찾아서 제거
-        keys.stream().filter(key -> {
-          Long ttl = redisTemplate.getExpire(key);
-          return ttl != null && ttl < POST_CACHE_TTL * 0.5; // TTL이 50% 이하인 것들
-        }).limit((long) (keys.size() - MAX_CACHED_POSTS * 0.7)) // 70%까지 줄임
-            .forEach(key -> {
-              redisTemplate.delete(key);
-              redisTemplate.opsForValue().decrement(POST_COUNT_KEY, 1);
-            });
-
-        log.info("오래된 포스트 캐시 정리 완료: removedCount={}", keys.size() - MAX_CACHED_POSTS * 0.7);
+      long expiredBefore = System.currentTimeMillis() - POST_CACHE_TTL * 1000L;
+      long expiredCount = 0;
+      long evictedCount = 0;
+      for (int batch = 0; batch < MAX_TRIM_BATCHES_PER_RUN; batch++) {
+        List<?> result = redisTemplate.execute(TRIM_INDEX_SCRIPT, List.of(POST_CACHE_INDEX_KEY),
+            expiredBefore, MAX_CACHED_POSTS, TRIM_BATCH_SIZE);
+        if (result == null || result.isEmpty()) {
+          break;
+        }
+        long expired = ((Number) result.get(0)).longValue();
+        List<String> keys = result.subList(1, result.size()).stream()
+            .map(postId -> POST_CACHE_KEY_PREFIX + postId).toList();
+        if (!keys.isEmpty()) {
+          redisTemplate.unlink(keys);
+        }
+        expiredCount += expired;
+        evictedCount += keys.size();
+        if (expired < TRIM_BATCH_SIZE && keys.size() < TRIM_BATCH_SIZE) {
+          break;
+        }
       }
+
+      if (expiredCount > 0 || evictedCount > 0) {
+        log.info("포스트 캐시 정리 완료: expiredCount={}, evictedCount={}", expiredCount,
+            evictedCount);
+      }
+    } catch (Exception e) {
+      log.error("포스트 캐시 정리 실패", e);
+    }
+  }
+
+  private byte[] rawKey(String key) {
+    return redisTemplate.getStringSerializer().serialize(key);
+  }
+
+  @SuppressWarnings("unchecked")
+  private byte[] rawIndexMember(Long postId) {
+    return ((RedisSerializer<Object>) redisTemplate.getValueSerializer())
+        .serialize(postId.toString());
+  }
+
+  /**
+   * 캐시 값 디코딩 (형식이 맞지 않는 값은 캐시 미스로 처리하여 DB 조회 후 다시 저장되도록 함)
+   */
+  private PostSnapshot decode(Long postId, byte[] value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return postCacheCodec.decode(value);
     } catch (Exception e) {
-      log.error("오래된 포스트 캐시 정리 실패", e);
+      log.warn("포스트 캐시 디코딩 실패, 캐시 미스로 처리: postId={}", postId, e);
+      return null;
     }
   }
 }
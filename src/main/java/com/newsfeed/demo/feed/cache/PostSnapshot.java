@@ -0,0 +1,27 @@
+package com.newsfeed.demo.feed.cache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import com.newsfeed.demo.feed.entity.Post;
+
+/**
+ * 포스트 캐시 레코드 - 엔티티 대신 캐시에 저장하는 불변 스냅샷 (작성자는 ID만 보관)
+ */
+public record PostSnapshot(Long id, Long authorId, String content, List<String> mediaUrls,
+    LocalDateTime createdAt) {
+
+  /**
+   * 미디어 URL 목록을 불변 목록으로 복사 (코덱이 디코딩한 가변 목록이 니어 캐시를 통해 스레드 간에 공유되지 않도록)
+   */
+  public PostSnapshot {
+    mediaUrls = mediaUrls != null ? List.copyOf(mediaUrls) : null;
+  }
+
+  /**
+   * 엔티티에서 스냅샷 생성 (작성자 프록시는 ID만 읽으므로 초기화되지 않음)
+   */
+  public static PostSnapshot from(Post post) {
+    return new PostSnapshot(post.getId(), post.getUser().getId(), post.getContent(),
+        post.getMediaUrls(), post.getCreatedAt());
+  }
+}
@@ -11,6 +11,17 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class FanoutMessage implements Serializable {
   private Long authorId;
-  private Long postId;
+  private List<Long> postIds; // 병합 구간 동안 작성자가 작성한 포스트 ID (오래된 순)
+  private int chunkIndex; // 팬아웃 작업 하나 중 몇 번째 청크인지
   private List<Long> followerIds;
+  private long publishedAt; // 전송 시각 (epoch ms, 컨슈머 지연 측정용)
+
+  /**
+   * 포스트 하나만 담던 이전 형식 메시지(postId) 역직렬화용
+   */
+  public void setPostId(Long postId) {
+    if (postIds == null && postId != null) {
+      postIds = List.of(postId);
+    }
+  }
 }
@@ -2,6 +2,8 @@ package com.newsfeed.demo.feed.dto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.newsfeed.demo.user.dto.UserDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +16,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class NewsFeedResponse {
   private List<PostWithUserDto> posts;
+  // Snowflake ID는 JavaScript Number 정밀도(2^53)를 넘으므로 문자열로 직렬화
+  @JsonSerialize(using = ToStringSerializer.class)
   private Long nextCursor;
   private boolean hasMore;
 
@@ -22,6 +26,7 @@ public class NewsFeedResponse {
   @NoArgsConstructor
   @AllArgsConstructor
   public static class PostWithUserDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private UserDto user;
     private String content;
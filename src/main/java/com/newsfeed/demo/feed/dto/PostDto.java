@@ -2,6 +2,8 @@ package com.newsfeed.demo.feed.dto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.newsfeed.demo.user.dto.UserDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +15,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostDto {
+  // Snowflake ID는 JavaScript Number 정밀도(2^53)를 넘으므로 문자열로 직렬화
+  @JsonSerialize(using = ToStringSerializer.class)
   private Long id;
   private UserDto user; // 사용자 정보 (캐시에서 조회 시 포함)
   private String content;
@@ -0,0 +1,58 @@
+package com.newsfeed.demo.feed.entity;
+
+import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 팬아웃 아웃박스 - 포스트와 같은 트랜잭션에 기록되고 릴레이가 RabbitMQ로 전달한 뒤 삭제
+ * 릴레이는 availableAt을 미래로 옮겨 항목을 임대(lease)한 뒤 트랜잭션 밖에서 전송하며,
+ * 실패하면 시도 횟수에 따라 availableAt을 늦추고 최대 횟수를 넘으면 보류(parked)
+ */
+@Entity
+@Table(name = "fanout_outbox")
+@Data
+@NoArgsConstructor
+public class FanoutOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "author_id", nullable = false)
+  private Long authorId;
+
+  @Column(name = "post_id", nullable = false)
+  private Long postId;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  // 이 시각 이후에 릴레이가 가져갈 수 있음 (null이면 바로, 임대 중이거나 재시도 대기 중이면 미래 시각)
+  @Column(name = "available_at")
+  private LocalDateTime availableAt;
+
+  // 팬아웃 전송에 실패한 횟수
+  @ColumnDefault("0")
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  // 최대 시도 횟수를 넘어 릴레이가 더 이상 가져가지 않는 항목 (원인 해결 후 false로 되돌리면 재전송)
+  @ColumnDefault("false")
+  @Column(name = "parked", nullable = false)
+  private boolean parked;
+
+  public FanoutOutbox(Long authorId, Long postId) {
+    this.authorId = authorId;
+    this.postId = postId;
+  }
+}
@@ -3,15 +3,15 @@ package com.newsfeed.demo.feed.entity;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.hibernate.annotations.CreationTimestamp;
+import com.newsfeed.demo.common.id.SnowflakeId;
 import com.newsfeed.demo.user.entity.User;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -21,7 +21,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_user_post", columnList = "user_id, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,7 +31,7 @@ import lombok.NoArgsConstructor;
 public class Post {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @SnowflakeId
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
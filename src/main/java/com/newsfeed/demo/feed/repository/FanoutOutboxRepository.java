@@ -0,0 +1,41 @@
+package com.newsfeed.demo.feed.repository;
+
+import com.newsfeed.demo.feed.entity.FanoutOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FanoutOutboxRepository extends JpaRepository<FanoutOutbox, Long> {
+
+  /**
+   * readyBefore 이전에 기록되고 지금 가져갈 수 있는(임대 중이거나 재시도 대기 중이 아닌) 항목을
+   * 오래된 순으로 잠그며 조회
+   * 다른 릴레이가 잠근 행은 건너뛰므로 (lock.timeout = -2, SKIP LOCKED) 여러 노드가 나눠서 처리
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT o FROM FanoutOutbox o WHERE o.parked = false AND o.createdAt <= :readyBefore "
+      + "AND (o.availableAt IS NULL OR o.availableAt <= :now) ORDER BY o.id")
+  List<FanoutOutbox> findBatchForRelay(@Param("readyBefore") LocalDateTime readyBefore,
+      @Param("now") LocalDateTime now, PageRequest pageRequest);
+
+  /**
+   * 주어진 작성자들의 지금 가져갈 수 있는 항목을 기록 시각과 관계없이 오래된 순으로 잠그며 조회
+   * 병합 구간이 지난 작성자의 포스트를 구간 안에 새로 들어온 포스트까지 한 번에 가져가기 위해 사용
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT o FROM FanoutOutbox o WHERE o.parked = false AND o.authorId IN :authorIds "
+      + "AND (o.availableAt IS NULL OR o.availableAt <= :now) ORDER BY o.id")
+  List<FanoutOutbox> findPendingByAuthorIds(@Param("authorIds") Collection<Long> authorIds,
+      @Param("now") LocalDateTime now, PageRequest pageRequest);
+}
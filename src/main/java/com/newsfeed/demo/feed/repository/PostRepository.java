@@ -3,20 +3,28 @@ package com.newsfeed.demo.feed.repository;
 import com.newsfeed.demo.feed.entity.Post;
 import com.newsfeed.demo.user.entity.User;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
 
   List<Post> findByUserOrderByIdDesc(User user, PageRequest pageRequest);
 
-  @Query("SELECT p FROM Post p WHERE p.user IN :users ORDER BY p.id DESC")
-  List<Post> findByUserInOrderByIdDesc(@Param("users") List<User> users, PageRequest pageRequest);
+  // 피드 DB 폴백용: 작성자와 미디어 URL을 한 쿼리로 함께 조회하여 포스트마다 지연 로딩이 일어나지 않도록 함
+  @EntityGraph(attributePaths = {"user", "mediaUrls"})
+  @Query("SELECT DISTINCT p FROM Post p WHERE p.id IN :ids")
+  List<Post> findAllForFeedByIdIn(@Param("ids") Collection<Long> ids);
 
-  @Query("SELECT p FROM Post p WHERE p.user IN :users AND p.id < :cursor ORDER BY p.id DESC")
-  List<Post> findByUserInAndIdLessThanOrderByIdDesc(@Param("users") List<User> users, @Param("cursor") Long cursor,
+  @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId ORDER BY p.id DESC")
+  List<Long> findIdsByUserIdOrderByIdDesc(@Param("userId") Long userId, PageRequest pageRequest);
+
+  // (user_id, id) 인덱스 범위 스캔: minId 이상인 작성자 포스트 ID를 최신순으로 조회
+  @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId AND p.id >= :minId ORDER BY p.id DESC")
+  List<Long> findIdsByUserIdAndIdAtLeast(@Param("userId") Long userId, @Param("minId") Long minId,
       PageRequest pageRequest);
 }
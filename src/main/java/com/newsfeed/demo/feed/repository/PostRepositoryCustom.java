@@ -0,0 +1,15 @@
+package com.newsfeed.demo.feed.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface PostRepositoryCustom {
+
+  /**
+   * 작성자별 최신 포스트 ID를 최대 limitPerUser개씩 조회 (cursor가 있으면 cursor보다 작은 ID만)
+   * 작성자마다 (user_id, id) 인덱스 범위 스캔 하나로 처리되며, 포스트가 없는 작성자는 결과에 없음
+   */
+  Map<Long, List<Long>> findRecentIdsByUserIds(Collection<Long> userIds, Long cursor,
+      int limitPerUser);
+}
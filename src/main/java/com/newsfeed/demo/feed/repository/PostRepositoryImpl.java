@@ -0,0 +1,73 @@
+package com.newsfeed.demo.feed.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * 작성자별로 LIMIT을 건 서브쿼리를 UNION ALL로 묶어 조회
+ * IN 목록 전체를 정렬(filesort)하는 대신 작성자마다 (user_id, id) 인덱스를 역순으로 limit개만 읽음
+ */
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+  private static final int UNION_CHUNK_SIZE = 100; // 한 쿼리에 묶을 작성자 수
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Map<Long, List<Long>> findRecentIdsByUserIds(Collection<Long> userIds, Long cursor,
+      int limitPerUser) {
+    Map<Long, List<Long>> postIdsByUserId = new HashMap<>();
+    if (userIds.isEmpty() || limitPerUser <= 0) {
+      return postIdsByUserId;
+    }
+
+    List<Long> ids = new ArrayList<>(userIds);
+    for (int from = 0; from < ids.size(); from += UNION_CHUNK_SIZE) {
+      List<Long> chunk = ids.subList(from, Math.min(from + UNION_CHUNK_SIZE, ids.size()));
+      String sql = buildUnionQuery(chunk.size(), cursor != null, limitPerUser);
+      Query query = entityManager.createNativeQuery(sql);
+      int position = 1;
+      for (Long userId : chunk) {
+        query.setParameter(position++, userId);
+        if (cursor != null) {
+          query.setParameter(position++, cursor);
+        }
+      }
+
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = query.getResultList();
+      for (Object[] row : rows) {
+        Long userId = ((Number) row[0]).longValue();
+        Long postId = ((Number) row[1]).longValue();
+        postIdsByUserId.computeIfAbsent(userId, key -> new ArrayList<>()).add(postId);
+      }
+    }
+    // UNION ALL 결과의 행 순서는 보장되지 않으므로 작성자별로 최신순 정렬
+    postIdsByUserId.values().forEach(postIds -> postIds.sort(Comparator.reverseOrder()));
+    return postIdsByUserId;
+  }
+
+  private String buildUnionQuery(int userCount, boolean withCursor, int limitPerUser) {
+    StringBuilder sql = new StringBuilder();
+    int position = 1;
+    for (int i = 0; i < userCount; i++) {
+      if (i > 0) {
+        sql.append(" UNION ALL ");
+      }
+      sql.append("(SELECT p.user_id, p.id FROM posts p WHERE p.user_id = ?").append(position++);
+      if (withCursor) {
+        sql.append(" AND p.id < ?").append(position++);
+      }
+      sql.append(" ORDER BY p.id DESC LIMIT ").append(limitPerUser).append(')');
+    }
+    return sql.toString();
+  }
+}
@@ -0,0 +1,108 @@
+package com.newsfeed.demo.feed.service;
+
+import java.util.List;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsfeed.demo.config.RabbitMQConstants;
+import com.newsfeed.demo.feed.dto.FanoutMessage;
+import com.rabbitmq.client.GetResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팬아웃 데드레터 서비스 - 재시도 후에도 실패한 팔로워 청크를 보관하고 나중에 다시 팬아웃
+ * 실패한 팔로워만 담아 보관하므로 복구 비용은 실패한 청크 크기에 비례
+ * 보관된 청크는 주기적으로 조금씩 다시 팬아웃하고, 모니터링 API로 즉시 재전송할 수도 있음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FanoutDeadLetterService {
+
+  private final RabbitTemplate rabbitTemplate;
+  private final FanoutRouter fanoutRouter;
+  private final ObjectMapper objectMapper;
+
+  // 브로커 확인(publisher confirm) 대기 시간
+  @Value("${newsfeed.fanout.confirm-timeout-ms:5000}")
+  private long confirmTimeoutMs;
+
+  // 주기적인 재전송 한 번에 다시 보낼 최대 청크 수
+  @Value("${newsfeed.fanout.dead-letter.replay-batch-size:1000}")
+  private int replayBatchSize;
+
+  /**
+   * 실패한 팔로워만 담은 청크를 데드레터 큐로 전송 (브로커 확인까지 대기, 실패 시 예외)
+   */
+  public void deadLetter(FanoutMessage fanoutMessage, List<Long> failedFollowerIds) {
+    FanoutMessage failedChunk = new FanoutMessage(fanoutMessage.getAuthorId(),
+        fanoutMessage.getPostIds(), fanoutMessage.getChunkIndex(), failedFollowerIds,
+        fanoutMessage.getPublishedAt());
+    rabbitTemplate.invoke(operations -> {
+      operations.convertAndSend("", RabbitMQConstants.FANOUT_DEAD_LETTER_QUEUE, failedChunk);
+      operations.waitForConfirmsOrDie(confirmTimeoutMs);
+      return null;
+    });
+    log.warn("팬아웃 청크 데드레터 전송: postIds={}, chunkIndex={}, failedCount={}",
+        fanoutMessage.getPostIds(), fanoutMessage.getChunkIndex(), failedFollowerIds.size());
+  }
+
+  /**
+   * 데드레터 큐에 쌓인 청크를 주기적으로 재전송
+   * Redis 장애 등으로 실패한 청크는 복구된 뒤 다음 주기에 다시 팬아웃되고,
+   * 그때도 실패하면 다시 데드레터 큐로 돌아와 다음 주기를 기다림
+   */
+  @Scheduled(fixedDelayString = "${newsfeed.fanout.dead-letter.replay-interval-ms:600000}")
+  public void replayPeriodically() {
+    replay(replayBatchSize);
+  }
+
+  /**
+   * 데드레터 큐의 청크를 최대 maxMessages개까지 bulk 레인으로 다시 전송
+   * 샤드 큐 전송이 브로커에 확인된 뒤에만 데드레터 메시지를 ack하므로 재전송 중 유실되지 않음
+   * 복구 작업이 소규모 팬아웃을 지연시키지 않도록 express 레인은 사용하지 않음
+   */
+  public int replay(int maxMessages) {
+    int replayed = 0;
+    try {
+      while (replayed < maxMessages && replayOne()) {
+        replayed++;
+      }
+    } catch (Exception e) {
+      log.error("팬아웃 데드레터 재전송 중 오류 발생: replayed={}", replayed, e);
+    }
+    log.info("팬아웃 데드레터 재전송 완료: replayed={}", replayed);
+    return replayed;
+  }
+
+  /**
+   * 데드레터 큐에서 청크 하나를 꺼내 다시 전송 (큐가 비어 있으면 false)
+   */
+  private boolean replayOne() {
+    Boolean moved = rabbitTemplate.execute(channel -> {
+      GetResponse response = channel.basicGet(RabbitMQConstants.FANOUT_DEAD_LETTER_QUEUE, false);
+      if (response == null) {
+        return false;
+      }
+      long deliveryTag = response.getEnvelope().getDeliveryTag();
+      try {
+        FanoutMessage fanoutMessage =
+            objectMapper.readValue(response.getBody(), FanoutMessage.class);
+        channel.basicPublish(RabbitMQConstants.FANOUT_EXCHANGE,
+            fanoutRouter.routingKey(RabbitMQConstants.FANOUT_BULK_LANE, fanoutMessage),
+            response.getProps(), response.getBody());
+        channel.waitForConfirmsOrDie(confirmTimeoutMs);
+      } catch (Exception e) {
+        // 재전송에 실패하면 데드레터 큐에 되돌려 두고 중단
+        channel.basicNack(deliveryTag, false, true);
+        throw e;
+      }
+      channel.basicAck(deliveryTag, false);
+      return true;
+    });
+    return Boolean.TRUE.equals(moved);
+  }
+}
@@ -0,0 +1,174 @@
+package com.newsfeed.demo.feed.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.newsfeed.demo.feed.entity.FanoutOutbox;
+import com.newsfeed.demo.feed.repository.FanoutOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팬아웃 아웃박스 릴레이 - 아웃박스에 쌓인 포스트를 배치로 꺼내 RabbitMQ로 팬아웃
+ * 작성자의 가장 오래된 대기 포스트가 병합 구간을 지나면 그 뒤에 들어온 포스트까지 작성자 단위로 한꺼번에 가져가,
+ * 몰아서 작성하는 작성자의 포스트들을 한 번의 팬아웃(팔로워 목록 조회 한 번, 팔로워당 ZADD 한 번)으로 처리
+ * 항목은 짧은 트랜잭션에서 임대하고, 팔로워 조회와 브로커 확인 대기는 트랜잭션과 행 잠금 밖에서 수행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FanoutOutboxRelay {
+
+  private final FanoutOutboxRepository fanoutOutboxRepository;
+  private final FanoutService fanoutService;
+  private final TransactionTemplate transactionTemplate;
+  private final Clock clock;
+
+  // 한 번의 릴레이에서 처리할 최대 아웃박스 항목 수
+  @Value("${newsfeed.fanout.outbox-batch-size:100}")
+  private int batchSize;
+
+  // 한 번의 릴레이 실행 시간 상한 (밀린 항목이 많아도 스케줄러 스레드를 계속 잡고 있지 않음)
+  @Value("${newsfeed.fanout.outbox-max-relay-ms:5000}")
+  private long maxRelayMillis;
+
+  // 작성자의 첫 포스트를 아웃박스에 머물게 하여 뒤이은 포스트를 묶는 시간 (0이면 바로 팬아웃)
+  @Value("${newsfeed.fanout.coalesce-window-ms:500}")
+  private long coalesceWindowMs;
+
+  // 가져간 항목을 다른 릴레이가 다시 가져가지 않는 시간 (이 안에 끝나지 않으면 중복 전송될 수 있으나 멱등)
+  @Value("${newsfeed.fanout.outbox-lease-ms:60000}")
+  private long leaseMillis;
+
+  // 이 횟수만큼 실패하면 보류하고 더 이상 재시도하지 않음
+  @Value("${newsfeed.fanout.outbox-max-attempts:10}")
+  private int maxAttempts;
+
+  // 첫 재시도 전 대기 시간 (실패할 때마다 두 배, 최대 outbox-max-backoff-ms)
+  @Value("${newsfeed.fanout.outbox-initial-backoff-ms:1000}")
+  private long initialBackoffMillis;
+
+  @Value("${newsfeed.fanout.outbox-max-backoff-ms:300000}")
+  private long maxBackoffMillis;
+
+  /**
+   * 아웃박스 배치를 임대하고 팬아웃한 뒤, 브로커 확인(confirm)을 받은 항목만 삭제
+   * 실패한 항목은 백오프 후 다시 시도하고, 최대 횟수를 넘으면 보류 (최소 한 번 전달)
+   * 밀린 항목은 배치를 이어서 처리하되 실행 시간 상한을 넘으면 다음 실행으로 넘김
+   */
+  @Scheduled(fixedDelayString = "${newsfeed.fanout.outbox-poll-interval-ms:200}")
+  public void relay() {
+    long deadline = System.nanoTime() + maxRelayMillis * 1_000_000;
+    try {
+      int claimed;
+      do {
+        claimed = relayBatch();
+      } while (claimed >= batchSize && System.nanoTime() < deadline);
+    } catch (Exception e) {
+      log.error("아웃박스 릴레이 중 오류 발생", e);
+    }
+  }
+
+  private int relayBatch() {
+    List<FanoutOutbox> batch = transactionTemplate.execute(status -> claimBatch());
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+
+    // 작성자별로 묶어 포스트 ID 오름차순(아웃박스 순서)으로 팬아웃
+    Map<Long, List<FanoutOutbox>> entriesByAuthor = new LinkedHashMap<>();
+    for (FanoutOutbox entry : batch) {
+      entriesByAuthor.computeIfAbsent(entry.getAuthorId(), authorId -> new ArrayList<>())
+          .add(entry);
+    }
+
+    List<Long> publishedIds = new ArrayList<>();
+    List<FanoutOutbox> failed = new ArrayList<>();
+    entriesByAuthor.forEach((authorId, entries) -> {
+      List<Long> postIds = entries.stream().map(FanoutOutbox::getPostId).toList();
+      try {
+        fanoutService.fanoutToFollowers(authorId, postIds);
+        entries.forEach(entry -> publishedIds.add(entry.getId()));
+      } catch (Exception e) {
+        log.error("아웃박스 팬아웃 실패: authorId={}, postIds={}", authorId, postIds, e);
+        failed.addAll(entries);
+      }
+    });
+
+    if (!publishedIds.isEmpty()) {
+      fanoutOutboxRepository.deleteAllByIdInBatch(publishedIds);
+    }
+    if (!failed.isEmpty()) {
+      scheduleRetry(failed);
+    }
+
+    log.debug("아웃박스 릴레이 완료: 임대={}, 전송={}, 작성자 수={}", batch.size(), publishedIds.size(),
+        entriesByAuthor.size());
+    return batch.size();
+  }
+
+  /**
+   * 가져갈 수 있는 항목을 잠그고 availableAt을 임대 만료 시각으로 옮긴 뒤 바로 커밋
+   * 병합 구간이 지난 항목으로 작성자를 고른 뒤, 그 작성자들의 대기 항목을 구간 안의 것까지 모두 가져감
+   * (구간이 작성자별로 첫 포스트부터 시작하므로 구간 안에 몰아서 작성된 포스트가 한 작업으로 묶임)
+   * 릴레이가 중간에 죽어도 임대가 만료되면 다른 릴레이가 다시 가져감
+   */
+  private List<FanoutOutbox> claimBatch() {
+    LocalDateTime now = LocalDateTime.now(clock);
+    LocalDateTime readyBefore = now.minusNanos(coalesceWindowMs * 1_000_000);
+    List<FanoutOutbox> ready =
+        fanoutOutboxRepository.findBatchForRelay(readyBefore, now, PageRequest.of(0, batchSize));
+    if (ready.isEmpty()) {
+      return ready;
+    }
+
+    Set<Long> authorIds = new LinkedHashSet<>();
+    ready.forEach(entry -> authorIds.add(entry.getAuthorId()));
+    Map<Long, FanoutOutbox> entriesById = new LinkedHashMap<>();
+    ready.forEach(entry -> entriesById.put(entry.getId(), entry));
+    fanoutOutboxRepository.findPendingByAuthorIds(authorIds, now, PageRequest.of(0, batchSize))
+        .forEach(entry -> entriesById.putIfAbsent(entry.getId(), entry));
+
+    List<FanoutOutbox> batch = new ArrayList<>(entriesById.values());
+    batch.sort(Comparator.comparing(FanoutOutbox::getId));
+    LocalDateTime leaseUntil = now.plusNanos(leaseMillis * 1_000_000);
+    batch.forEach(entry -> entry.setAvailableAt(leaseUntil));
+    return batch;
+  }
+
+  /**
+   * 실패한 항목의 시도 횟수를 올리고 지수 백오프로 다음 시도 시각을 정함 (최대 횟수를 넘으면 보류)
+   */
+  private void scheduleRetry(List<FanoutOutbox> failed) {
+    LocalDateTime now = LocalDateTime.now(clock);
+    for (FanoutOutbox entry : failed) {
+      int attempts = entry.getAttempts() + 1;
+      long backoffMillis =
+          Math.min(initialBackoffMillis << Math.min(attempts - 1, 20), maxBackoffMillis);
+      entry.setAttempts(attempts);
+      entry.setAvailableAt(now.plusNanos(backoffMillis * 1_000_000));
+      if (attempts >= maxAttempts) {
+        entry.setParked(true);
+        log.error("아웃박스 항목 보류, 더 이상 재시도하지 않음: outboxId={}, authorId={}, postId={}, "
+            + "attempts={}", entry.getId(), entry.getAuthorId(), entry.getPostId(), attempts);
+      }
+    }
+    try {
+      fanoutOutboxRepository.saveAll(failed);
+    } catch (Exception e) {
+      // 기록하지 못해도 임대가 만료되면 다시 시도됨
+      log.error("아웃박스 재시도 예약 실패: count={}", failed.size(), e);
+    }
+  }
+}
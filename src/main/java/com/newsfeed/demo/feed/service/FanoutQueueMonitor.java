@@ -0,0 +1,102 @@
+package com.newsfeed.demo.feed.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.newsfeed.demo.config.RabbitMQConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팬아웃 샤드 큐 모니터 - 샤드별 큐 깊이, 컨슈머 지연, 기록 실패한 팔로워 수를 메트릭으로 기록
+ * 큐 깊이는 메트릭 수집 시마다 브로커를 조회하지 않도록 주기적으로 갱신한 값을 게이지로 노출
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FanoutQueueMonitor {
+
+  private static final String QUEUE_DEPTH_METRIC = "newsfeed.fanout.queue.depth";
+  private static final String CONSUMER_LAG_METRIC = "newsfeed.fanout.consumer.lag";
+  private static final String FAILED_FOLLOWERS_METRIC = "newsfeed.fanout.failed.followers";
+
+  private final AmqpAdmin amqpAdmin;
+  private final MeterRegistry meterRegistry;
+  private final FanoutRouter fanoutRouter;
+
+  private final Map<String, AtomicLong> queueDepths = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  void registerQueueDepthGauges() {
+    for (String lane : new String[] {RabbitMQConstants.FANOUT_EXPRESS_LANE,
+        RabbitMQConstants.FANOUT_BULK_LANE}) {
+      String[] queueNames = fanoutRouter.queueNames(lane);
+      for (int shard = 0; shard < queueNames.length; shard++) {
+        registerQueueDepthGauge(queueNames[shard], lane, shard);
+      }
+    }
+    // 이전 단일 큐가 모두 소비되었는지 확인할 수 있도록 함께 노출
+    registerQueueDepthGauge(RabbitMQConstants.FANOUT_LEGACY_QUEUE,
+        RabbitMQConstants.FANOUT_LEGACY_LANE, 0);
+  }
+
+  private void registerQueueDepthGauge(String queueName, String lane, int shard) {
+    AtomicLong depth = new AtomicLong();
+    queueDepths.put(queueName, depth);
+    Gauge.builder(QUEUE_DEPTH_METRIC, depth, AtomicLong::get)
+        .description("팬아웃 샤드 큐에 쌓인 메시지 수")
+        .tag("lane", lane)
+        .tag("shard", String.valueOf(shard))
+        .register(meterRegistry);
+  }
+
+  /**
+   * 샤드 큐 깊이 갱신
+   */
+  @Scheduled(fixedDelayString = "${newsfeed.fanout.queue-depth-poll-interval-ms:10000}")
+  public void refreshQueueDepths() {
+    queueDepths.forEach((queueName, depth) -> {
+      try {
+        QueueInformation queueInfo = amqpAdmin.getQueueInfo(queueName);
+        if (queueInfo != null) {
+          depth.set(queueInfo.getMessageCount());
+        }
+      } catch (Exception e) {
+        log.error("팬아웃 큐 깊이 조회 실패: queue={}", queueName, e);
+      }
+    });
+  }
+
+  /**
+   * 전송부터 소비까지 걸린 시간 기록
+   */
+  public void recordConsumerLag(String lane, int shard, long publishedAt) {
+    if (publishedAt <= 0) {
+      return;
+    }
+    Timer.builder(CONSUMER_LAG_METRIC).description("팬아웃 메시지 전송부터 소비까지 걸린 시간")
+        .tag("lane", lane).tag("shard", String.valueOf(shard)).register(meterRegistry)
+        .record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 기록에 실패한 팔로워 수 기록 (outcome: recovered - 재시도로 복구, dead_lettered - 데드레터 큐로 전송)
+   */
+  public void recordFailedFollowers(String lane, String outcome, int count) {
+    if (count <= 0) {
+      return;
+    }
+    Counter.builder(FAILED_FOLLOWERS_METRIC).description("팬아웃 중 뉴스피드 기록에 실패한 팔로워 수")
+        .tag("lane", lane).tag("outcome", outcome).register(meterRegistry).increment(count);
+  }
+}
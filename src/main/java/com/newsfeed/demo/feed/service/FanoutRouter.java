@@ -0,0 +1,57 @@
+package com.newsfeed.demo.feed.service;
+
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.newsfeed.demo.common.util.JumpConsistentHash;
+import com.newsfeed.demo.config.RabbitMQConstants;
+import com.newsfeed.demo.feed.dto.FanoutMessage;
+
+/**
+ * 팬아웃 메시지 라우터 - 레인과 샤드 큐 결정
+ * 팔로워가 적은 작성자는 express 레인으로 보내 대규모 팬아웃 뒤에 밀리지 않도록 하고,
+ * 샤드는 express는 작성자 ID, bulk는 청크의 첫 팔로워 ID로 Jump Consistent Hash하여 고르게 분산
+ */
+@Component
+public class FanoutRouter {
+
+  // 레인별 팬아웃 샤드 큐 수
+  @Value("${newsfeed.fanout.shard-count:4}")
+  private int shardCount;
+
+  // 팔로워 수가 이 값 이하인 작성자의 팬아웃은 express 레인으로 전송
+  @Value("${newsfeed.fanout.express-max-followers:1000}")
+  private long expressMaxFollowers;
+
+  /**
+   * 작성자의 팔로워 수로 레인 결정
+   */
+  public String laneOf(long followersCount) {
+    return followersCount <= expressMaxFollowers ? RabbitMQConstants.FANOUT_EXPRESS_LANE
+        : RabbitMQConstants.FANOUT_BULK_LANE;
+  }
+
+  /**
+   * 메시지가 속할 샤드 번호
+   */
+  public int shardOf(String lane, FanoutMessage fanoutMessage) {
+    long key = RabbitMQConstants.FANOUT_EXPRESS_LANE.equals(lane) || fanoutMessage.getFollowerIds()
+        .isEmpty() ? fanoutMessage.getAuthorId() : fanoutMessage.getFollowerIds().get(0);
+    return JumpConsistentHash.bucket(key, shardCount);
+  }
+
+  /**
+   * 메시지를 보낼 라우팅 키 (샤드 큐 이름)
+   */
+  public String routingKey(String lane, FanoutMessage fanoutMessage) {
+    return RabbitMQConstants.fanoutQueueName(lane, shardOf(lane, fanoutMessage));
+  }
+
+  /**
+   * 레인의 모든 샤드 큐 이름 (리스너 등록과 메트릭용)
+   */
+  public String[] queueNames(String lane) {
+    return IntStream.range(0, shardCount)
+        .mapToObj(shard -> RabbitMQConstants.fanoutQueueName(lane, shard)).toArray(String[]::new);
+  }
+}
@@ -1,19 +1,22 @@
 package com.newsfeed.demo.feed.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import com.newsfeed.demo.config.RabbitMQConstants;
+import com.newsfeed.demo.feed.cache.ActiveUserCacheService;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService;
 import com.newsfeed.demo.feed.dto.FanoutMessage;
-import com.newsfeed.demo.feed.entity.Post;
-import com.newsfeed.demo.user.entity.User;
 import com.newsfeed.demo.user.repository.FollowRepository;
+import com.newsfeed.demo.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * 팬아웃 서비스 - 포스트 생성 시 팔로워들에게 비동기로 전파
+ * 팬아웃 서비스 - 아웃박스 릴레이가 넘겨준 포스트를 팔로워들에게 비동기로 전파
  */
 @Service
 @RequiredArgsConstructor
@@ -21,32 +24,96 @@ import lombok.extern.slf4j.Slf4j;
 public class FanoutService {
 
   private final FollowRepository followRepository;
+  private final UserRepository userRepository;
   private final RabbitTemplate rabbitTemplate;
+  private final AuthorTimelineCacheService authorTimelineCacheService;
+  private final FanoutRouter fanoutRouter;
+  private final ActiveUserCacheService activeUserCacheService;
+
+  // 팔로워 수가 이 값 이상인 작성자는 팬아웃하지 않고 읽기 시 병합 (Pull)
+  @Value("${newsfeed.fanout.celebrity-threshold:10000}")
+  private long celebrityThreshold;
+
+  // 팬아웃 메시지 하나에 담을 최대 팔로워 수
+  @Value("${newsfeed.fanout.chunk-size:1000}")
+  private int chunkSize;
+
+  // 브로커 확인(publisher confirm) 대기 시간
+  @Value("${newsfeed.fanout.confirm-timeout-ms:5000}")
+  private long confirmTimeoutMs;
 
   /**
-   * 새 포스트를 팔로워들의 뉴스피드에 푸시
+   * 새 포스트를 작성자 타임라인에 기록하고 팔로워들의 뉴스피드에 푸시
+   * 병합 구간 동안 같은 작성자가 작성한 포스트들은 한 번의 팬아웃으로 묶어 팔로워 목록을 한 번만 읽음
+   * 셀럽 작성자는 푸시하지 않고 작성자 타임라인에만 기록
+   * 팔로워 ID를 키셋 페이지로 읽으면서 청크 단위 메시지로 바로 전송하여 여러 워커가 병렬 처리
+   * 최근 활성 팔로워에게만 전송하고, 휴면 팔로워의 뉴스피드는 돌아왔을 때 캐시 미스로 재구성됨
+   * 모든 청크가 브로커에 확인(confirm)될 때까지 기다리며, 실패하면 예외를 던져 아웃박스가 재시도하도록 함
    */
-  public void fanoutToFollowers(User author, Post post) {
-    try {
-      log.info("Fanout 시작: authorId={}, postId={}", author.getId(), post.getId());
+  public void fanoutToFollowers(Long authorId, List<Long> postIds) {
+    log.info("Fanout 시작: authorId={}, postIds={}", authorId, postIds);
 
-      // 팔로워 목록 조회
-      List<User> followers = followRepository.findFollowersByFollowing(author);
-      List<Long> followerIds = followers.stream().map(User::getId).collect(Collectors.toList());
+    // 뉴스피드 재구성 시 병합하는 작성자 타임라인에 기록
+    postIds.forEach(postId -> authorTimelineCacheService.addToTimeline(authorId, postId));
 
-      log.info("팔로워 수: {}", followerIds.size());
+    long followersCount = userRepository.findFollowersCountById(authorId).orElse(0L);
+    if (isCelebrity(authorId, followersCount)) {
+      log.info("셀럽 작성자 팬아웃 생략, 작성자 타임라인에 기록: authorId={}, postIds={}", authorId,
+          postIds);
+      return;
+    }
 
-      // 비동기 메시지 전송
-      FanoutMessage fanoutMessage = new FanoutMessage(author.getId(), post.getId(), followerIds);
+    // 팔로워 수로 레인을 정하고, 같은 채널에서 청크를 모두 전송한 뒤 한 번에 확인 대기
+    String lane = fanoutRouter.laneOf(followersCount);
+    AtomicLong activeFollowerCount = new AtomicLong();
+    int chunkCount = rabbitTemplate.invoke(operations -> {
+      long afterId = 0L;
+      int chunkIndex = 0;
+      while (true) {
+        List<Long> followerIds = followRepository.findFollowerIdsAfter(authorId, afterId,
+            PageRequest.of(0, chunkSize));
+        if (followerIds.isEmpty()) {
+          break;
+        }
 
-      // RabbitMQ로 비동기 메시지 전송
-      rabbitTemplate.convertAndSend(RabbitMQConstants.FANOUT_EXCHANGE,
-          RabbitMQConstants.FANOUT_ROUTING_KEY, fanoutMessage);
+        // 휴면 팔로워를 제외하고 RabbitMQ로 청크 메시지 전송 (레인의 샤드 큐로 라우팅)
+        List<Long> activeFollowerIds = activeUserCacheService.filterActive(followerIds);
+        if (!activeFollowerIds.isEmpty()) {
+          activeFollowerCount.addAndGet(activeFollowerIds.size());
+          FanoutMessage fanoutMessage = new FanoutMessage(authorId, postIds, chunkIndex++,
+              activeFollowerIds, System.currentTimeMillis());
+          operations.convertAndSend(RabbitMQConstants.FANOUT_EXCHANGE,
+              fanoutRouter.routingKey(lane, fanoutMessage), fanoutMessage);
+        }
 
-      log.info("Fanout 메시지 큐 전송 완료: postId={}, 팔로워 수={}", post.getId(), followerIds.size());
+        if (followerIds.size() < chunkSize) {
+          break;
+        }
+        afterId = followerIds.get(followerIds.size() - 1);
+      }
+      if (chunkIndex > 0) {
+        operations.waitForConfirmsOrDie(confirmTimeoutMs);
+      }
+      return chunkIndex;
+    });
 
-    } catch (Exception e) {
-      log.error("Fanout 처리 중 오류 발생: authorId={}, postId={}", author.getId(), post.getId(), e);
+    log.info("Fanout 메시지 큐 전송 완료: postIds={}, lane={}, 청크 수={}, 활성 팔로워 수={}", postIds,
+        lane, chunkCount, activeFollowerCount.get());
+  }
+
+  /**
+   * 셀럽 작성자 여부 확인
+   * 임계값을 넘은 작성자는 등록되며, 이미 팬아웃되지 않은 포스트가 피드에서 빠지지 않도록 등록은 유지됨
+   */
+  private boolean isCelebrity(Long authorId, long followersCount) {
+    if (authorTimelineCacheService.isCelebrity(authorId)) {
+      return true;
+    }
+    if (followersCount < celebrityThreshold) {
+      return false;
     }
+    authorTimelineCacheService.markCelebrity(authorId);
+    log.info("셀럽 작성자 등록: authorId={}", authorId);
+    return true;
   }
 }
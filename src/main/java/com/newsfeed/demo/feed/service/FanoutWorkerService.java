@@ -1,16 +1,35 @@
 package com.newsfeed.demo.feed.service;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 import com.newsfeed.demo.config.RabbitMQConstants;
 import com.newsfeed.demo.feed.cache.NewsFeedCacheService;
 import com.newsfeed.demo.feed.dto.FanoutMessage;
+import com.rabbitmq.client.Channel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 팬아웃 워커 서비스 - RabbitMQ 메시지 큐에서 팬아웃 메시지를 처리
+ * 메시지 배치의 팔로워 청크를 가상 스레드에서 병렬로 뉴스피드에 기록하되,
+ * 동시에 실행 중인 청크 수를 제한하여 Redis가 밀리면 리스너가 멈추고 브로커에서 더 가져오지 않음
+ * 실패한 팔로워만 지수 백오프로 재시도하고, 그래도 실패하면 데드레터 큐로 보낸 뒤 메시지를 ack
+ * 데드레터 전송까지 실패한 메시지는 재시도 큐를 거쳐 지연 후 다시 처리
  */
 @Service
 @RequiredArgsConstructor
@@ -18,34 +37,229 @@ import lombok.extern.slf4j.Slf4j;
 public class FanoutWorkerService {
 
   private final NewsFeedCacheService newsFeedCacheService;
+  private final FanoutRouter fanoutRouter;
+  private final FanoutQueueMonitor fanoutQueueMonitor;
+  private final FanoutDeadLetterService fanoutDeadLetterService;
+
+  // 가상 스레드 하나가 처리할 팔로워 수 (Redis 파이프라인 하나)
+  @Value("${newsfeed.fanout.pipeline-batch-size:500}")
+  private int pipelineBatchSize;
+
+  // 노드 전체에서 동시에 실행할 수 있는 팔로워 청크 수
+  @Value("${newsfeed.fanout.consumer.max-in-flight-chunks:64}")
+  private int maxInFlightChunks;
+
+  // 첫 시도를 포함한 최대 시도 횟수
+  @Value("${newsfeed.fanout.retry.max-attempts:4}")
+  private int maxAttempts;
+
+  // 첫 재시도 전 대기 시간 (재시도마다 두 배, 최대 max-backoff-ms)
+  @Value("${newsfeed.fanout.retry.initial-backoff-ms:100}")
+  private long initialBackoffMillis;
+
+  @Value("${newsfeed.fanout.retry.max-backoff-ms:2000}")
+  private long maxBackoffMillis;
+
+  // 처리에 실패한 메시지를 다시 받기까지의 지연 (샤드 큐는 재시도 큐의 TTL로 적용)
+  @Value("${newsfeed.fanout.retry.redelivery-delay-ms:5000}")
+  private long redeliveryDelayMillis;
+
+  private final ExecutorService chunkExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private Semaphore inFlightChunks;
+
+  @PostConstruct
+  void initialize() {
+    inFlightChunks = new Semaphore(maxInFlightChunks);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    chunkExecutor.close();
+  }
 
   /**
-   * 팬아웃 메시지 처리
+   * express 레인(소규모 팬아웃) 샤드 큐 소비 - bulk 레인과 별도 컨슈머로 처리되어 대규모 팬아웃 뒤에 밀리지 않음
    */
-  @RabbitListener(queues = RabbitMQConstants.FANOUT_QUEUE)
-  public void processFanoutMessage(FanoutMessage fanoutMessage) {
-    try {
-      log.info("팬아웃 메시지 처리 시작: authorId={}, postId={}, followerCount={}",
-          fanoutMessage.getAuthorId(), fanoutMessage.getPostId(),
+  @RabbitListener(
+      queues = "#{@fanoutRouter.queueNames('" + RabbitMQConstants.FANOUT_EXPRESS_LANE + "')}",
+      containerFactory = RabbitMQConstants.FANOUT_CONTAINER_FACTORY)
+  public void processExpressFanoutMessages(List<Message<FanoutMessage>> messages,
+      Channel channel) {
+    processFanoutMessages(RabbitMQConstants.FANOUT_EXPRESS_LANE, messages, channel);
+  }
+
+  /**
+   * bulk 레인(대규모 팬아웃) 샤드 큐 소비
+   */
+  @RabbitListener(
+      queues = "#{@fanoutRouter.queueNames('" + RabbitMQConstants.FANOUT_BULK_LANE + "')}",
+      containerFactory = RabbitMQConstants.FANOUT_CONTAINER_FACTORY)
+  public void processBulkFanoutMessages(List<Message<FanoutMessage>> messages, Channel channel) {
+    processFanoutMessages(RabbitMQConstants.FANOUT_BULK_LANE, messages, channel);
+  }
+
+  /**
+   * 샤드 큐 도입 전의 단일 팬아웃 큐에 남은 메시지 소비 (이전 형식의 postId는 postIds로 변환됨)
+   * 더 이상 이 큐로 전송하지 않으므로 큐 깊이(lane=legacy)가 0이 되면 비활성화하고 큐를 삭제해도 됨
+   */
+  @RabbitListener(queues = RabbitMQConstants.FANOUT_LEGACY_QUEUE,
+      containerFactory = RabbitMQConstants.FANOUT_CONTAINER_FACTORY, concurrency = "1",
+      autoStartup = "${newsfeed.fanout.legacy-queue.enabled:true}")
+  public void processLegacyFanoutMessages(List<Message<FanoutMessage>> messages,
+      Channel channel) {
+    processFanoutMessages(RabbitMQConstants.FANOUT_LEGACY_LANE, messages, channel);
+  }
+
+  /**
+   * 팬아웃 메시지 배치 처리
+   * 모든 청크가 끝난 뒤 반환하므로 처리 중인 메시지는 prefetch 한도 안에서만 늘어남
+   */
+  private void processFanoutMessages(String lane, List<Message<FanoutMessage>> messages,
+      Channel channel) {
+    // 1. 모든 메시지의 팔로워 청크를 먼저 제출하여 배치 전체를 병렬로 처리
+    List<List<ChunkResult>> results = new ArrayList<>();
+    for (Message<FanoutMessage> message : messages) {
+      FanoutMessage fanoutMessage = message.getPayload();
+      fanoutQueueMonitor.recordConsumerLag(lane, fanoutRouter.shardOf(lane, fanoutMessage),
+          fanoutMessage.getPublishedAt());
+      log.info("팬아웃 메시지 처리 시작: authorId={}, postIds={}, chunkIndex={}, followerCount={}",
+          fanoutMessage.getAuthorId(), fanoutMessage.getPostIds(), fanoutMessage.getChunkIndex(),
           fanoutMessage.getFollowerIds().size());
 
-      Long postId = fanoutMessage.getPostId();
+      List<Long> postIds = fanoutMessage.getPostIds();
       List<Long> followerIds = fanoutMessage.getFollowerIds();
+      List<ChunkResult> chunks = new ArrayList<>();
+      for (int from = 0; from < followerIds.size(); from += pipelineBatchSize) {
+        List<Long> batch =
+            followerIds.subList(from, Math.min(from + pipelineBatchSize, followerIds.size()));
+        // 팔로워들의 뉴스피드에 포스트 ID 일괄 추가 (파이프라인 단위로 처리)
+        chunks.add(new ChunkResult(batch,
+            submitChunk(() -> newsFeedCacheService.addToUserFeeds(postIds, batch))));
+      }
+      results.add(chunks);
+    }
 
-      // 각 팔로워의 뉴스피드에 포스트 ID 추가
-      for (Long followerId : followerIds) {
-        try {
-          newsFeedCacheService.addToUserFeed(followerId, postId);
-          log.debug("팔로워 {}의 뉴스피드에 포스트 {} 푸시 완료", followerId, postId);
-        } catch (Exception e) {
-          log.error("팔로워 {}의 뉴스피드 푸시 실패: postId={}", followerId, postId, e);
-        }
+    // 2. 메시지별로 실패한 팔로워만 재시도하고, 결과에 따라 ack
+    for (int i = 0; i < messages.size(); i++) {
+      Message<FanoutMessage> message = messages.get(i);
+      Long deliveryTag = message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+      try {
+        List<Long> failedFollowerIds = awaitFailedFollowers(results.get(i));
+        settle(lane, message.getPayload(), failedFollowerIds);
+        channel.basicAck(deliveryTag, false);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.error("팬아웃 처리 중 인터럽트 발생, 남은 메시지 재전달: lane={}", lane);
+        requeueFrom(channel, messages, i);
+        return;
+      } catch (Exception e) {
+        // 데드레터 전송까지 실패하면 지연 후 다시 처리 (같은 포스트 재기록은 멱등)
+        log.error("팬아웃 메시지 처리 실패, 지연 후 재전달: postIds={}",
+            message.getPayload().getPostIds(), e);
+        retryLater(lane, channel, deliveryTag);
+      }
+    }
+    log.info("팬아웃 메시지 배치 처리 완료: lane={}, 메시지 수={}", lane, messages.size());
+  }
+
+  /**
+   * 청크 결과를 기다려 실패한 팔로워 ID 수집
+   */
+  private List<Long> awaitFailedFollowers(List<ChunkResult> chunks) throws InterruptedException {
+    List<Long> failedFollowerIds = new ArrayList<>();
+    for (ChunkResult chunk : chunks) {
+      try {
+        failedFollowerIds.addAll(chunk.failedFollowerIds().get());
+      } catch (ExecutionException e) {
+        log.error("팬아웃 청크 처리 중 오류 발생", e.getCause());
+        failedFollowerIds.addAll(chunk.followerIds());
+      }
+    }
+    return failedFollowerIds;
+  }
+
+  /**
+   * 실패한 팔로워만 지수 백오프로 재시도하고, 끝내 실패한 팔로워는 데드레터 큐로 전송
+   * 재시도 대상이 실패한 청크로 한정되므로 복구 비용이 실패 범위에 비례
+   */
+  private void settle(String lane, FanoutMessage fanoutMessage, List<Long> failedFollowerIds)
+      throws InterruptedException {
+    if (failedFollowerIds.isEmpty()) {
+      return;
+    }
+    int initiallyFailed = failedFollowerIds.size();
+    long backoffMillis = initialBackoffMillis;
+    for (int attempt = 2; attempt <= maxAttempts && !failedFollowerIds.isEmpty(); attempt++) {
+      Thread.sleep(backoffMillis);
+      backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+      log.warn("팬아웃 재시도: postIds={}, attempt={}, failedCount={}", fanoutMessage.getPostIds(),
+          attempt, failedFollowerIds.size());
+      failedFollowerIds =
+          newsFeedCacheService.addToUserFeeds(fanoutMessage.getPostIds(), failedFollowerIds);
+    }
+
+    fanoutQueueMonitor.recordFailedFollowers(lane, "recovered",
+        initiallyFailed - failedFollowerIds.size());
+    if (!failedFollowerIds.isEmpty()) {
+      fanoutDeadLetterService.deadLetter(fanoutMessage, failedFollowerIds);
+      fanoutQueueMonitor.recordFailedFollowers(lane, "dead_lettered", failedFollowerIds.size());
+    }
+  }
+
+  /**
+   * 처리에 실패한 메시지를 거절하여 재시도 큐로 보냄 (샤드 큐의 데드레터 설정으로 브로커가 이동)
+   * 큐에 바로 되돌리면 같은 메시지를 곧바로 다시 받아 실패를 반복하므로 되돌리지 않음
+   * 데드레터 설정 없이 선언된 이전 단일 큐는 전용 컨슈머가 지연만큼 기다린 뒤 큐에 되돌림
+   */
+  private void retryLater(String lane, Channel channel, Long deliveryTag) {
+    boolean legacy = RabbitMQConstants.FANOUT_LEGACY_LANE.equals(lane);
+    if (legacy) {
+      try {
+        Thread.sleep(redeliveryDelayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
       }
+    }
+    try {
+      channel.basicNack(deliveryTag, false, legacy);
+    } catch (IOException e) {
+      log.error("팬아웃 메시지 nack 실패: deliveryTag={}", deliveryTag, e);
+    }
+  }
 
-      log.info("팬아웃 메시지 처리 완료: postId={}, 팔로워 수={}", postId, followerIds.size());
+  private void requeueFrom(Channel channel, List<Message<FanoutMessage>> messages, int from) {
+    for (int i = from; i < messages.size(); i++) {
+      nack(channel, messages.get(i).getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class));
+    }
+  }
+
+  private void nack(Channel channel, Long deliveryTag) {
+    try {
+      channel.basicNack(deliveryTag, false, true);
+    } catch (IOException e) {
+      log.error("팬아웃 메시지 nack 실패: deliveryTag={}", deliveryTag, e);
+    }
+  }
 
-    } catch (Exception e) {
-      log.error("팬아웃 메시지 처리 중 오류 발생: message={}", fanoutMessage, e);
+  /**
+   * 실행 중인 청크가 한도에 도달하면 자리가 날 때까지 리스너 스레드를 대기시킨 뒤 가상 스레드에 제출
+   */
+  private Future<List<Long>> submitChunk(Supplier<List<Long>> task) {
+    inFlightChunks.acquireUninterruptibly();
+    try {
+      return chunkExecutor.submit(() -> {
+        try {
+          return task.get();
+        } finally {
+          inFlightChunks.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      inFlightChunks.release();
+      throw e;
     }
   }
+
+  // 팔로워 청크와 그 처리 결과(실패한 팔로워 ID)
+  private record ChunkResult(List<Long> followerIds, Future<List<Long>> failedFollowerIds) {}
 }
@@ -1,24 +1,43 @@
 package com.newsfeed.demo.feed.service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import com.newsfeed.demo.common.cache.SingleFlight;
+import com.newsfeed.demo.common.jpa.QueryCountInspector;
+import com.newsfeed.demo.common.util.SortedIdMerger;
+import com.newsfeed.demo.feed.cache.ActiveUserCacheService;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService.CelebrityFollowing;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService.Timeline;
 import com.newsfeed.demo.feed.cache.NewsFeedCacheService;
 import com.newsfeed.demo.feed.cache.PostCacheService;
+import com.newsfeed.demo.feed.cache.PostSnapshot;
 import com.newsfeed.demo.feed.dto.NewsFeedResponse;
 import com.newsfeed.demo.feed.dto.PostDto;
+import com.newsfeed.demo.feed.entity.FanoutOutbox;
 import com.newsfeed.demo.feed.entity.Post;
+import com.newsfeed.demo.feed.repository.FanoutOutboxRepository;
 import com.newsfeed.demo.feed.repository.PostRepository;
 import com.newsfeed.demo.user.cache.UserCacheService;
+import com.newsfeed.demo.user.cache.UserSnapshot;
 import com.newsfeed.demo.user.dto.UserDto;
 import com.newsfeed.demo.user.entity.User;
 import com.newsfeed.demo.user.repository.FollowRepository;
 import com.newsfeed.demo.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,10 +56,43 @@ public class FeedService {
   private final NewsFeedCacheService newsFeedCacheService;
   private final PostCacheService postCacheService;
   private final UserCacheService userCacheService;
-  private final FanoutService fanoutService;
+  private final FanoutOutboxRepository fanoutOutboxRepository;
+  private final AuthorTimelineCacheService authorTimelineCacheService;
+  private final ActiveUserCacheService activeUserCacheService;
+  private final NewsFeedRebuilder newsFeedRebuilder;
+  private final MeterRegistry meterRegistry;
+
+  private static final int CELEBRITY_FILTER_BATCH_SIZE = 1000; // 셀럽 여부를 한 번에 확인할 작성자 수
+  private static final long REBUILD_WAIT_POLL_MILLIS = 20; // 재구성 대기 중 캐시 재조회 간격
+  private static final String FEED_QUERY_COUNT_METRIC = "newsfeed.feed.sql.queries"; // 페이지당 SQL 수
+  // 병합 한도를 넘어 일부 셀럽을 병합하지 못한 조회 수
+  private static final String CELEBRITY_MERGE_TRUNCATED_METRIC =
+      "newsfeed.feed.celebrity.merge.truncated";
+
+  // 읽기 지연 예산: 요청 하나에서 병합할 셀럽 작성자 타임라인의 최대 개수
+  @Value("${newsfeed.feed.max-celebrity-merge:50}")
+  private int maxCelebrityMerge;
+
+  // 노드 간 뉴스피드 재구성 잠금 유지 시간
+  @Value("${newsfeed.feed.rebuild-lock-ttl-ms:3000}")
+  private long rebuildLockTtlMillis;
+
+  // 다른 노드가 재구성 중일 때 캐시가 채워지기를 기다리는 최대 시간
+  @Value("${newsfeed.feed.rebuild-lock-wait-ms:200}")
+  private long rebuildLockWaitMillis;
+
+  // 조기 갱신(XFetch) 강도 (클수록 일찍 갱신, 0이면 사용 안 함)
+  @Value("${newsfeed.feed.early-refresh-beta:1.0}")
+  private double earlyRefreshBeta;
+
+  // 같은 키의 동시 로드를 하나로 합치는 요청 병합기
+  private final SingleFlight<Long, List<Long>> feedRebuildFlight = new SingleFlight<>();
+  private final SingleFlight<Long, PostSnapshot> postLoadFlight = new SingleFlight<>();
+  private final SingleFlight<Long, UserSnapshot> userLoadFlight = new SingleFlight<>();
 
   /**
-   * 포스트 생성 및 팔로워들에게 팬아웃
+   * 포스트 생성 및 팬아웃 예약
+   * 팬아웃은 같은 트랜잭션에 기록한 아웃박스를 릴레이가 비동기로 처리
    */
   public PostDto createPost(Long userId, String content, List<String> mediaUrls) {
     User user = findUserById(userId);
@@ -49,38 +101,57 @@ public class FeedService {
 
     log.info("포스트 생성 완료: postId={}, userId={}", savedPost.getId(), userId);
 
-    // 비동기 팬아웃 처리
-    fanoutService.fanoutToFollowers(user, savedPost);
+    // 포스트와 함께 커밋되는 아웃박스에 팬아웃 기록 (팔로워 조회와 브로커 전송은 릴레이에서 처리)
+    fanoutOutboxRepository.save(new FanoutOutbox(userId, savedPost.getId()));
 
     return convertToDto(savedPost);
   }
 
   /**
    * 사용자 정보를 포함한 뉴스피드 조회 (API 응답용)
+   * 조회한 사용자를 활성 사용자로 기록하여 이후 팬아웃 대상에 포함
+   * 다른 노드의 재구성을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 실행
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public NewsFeedResponse getNewsFeedWithUserInfo(Long userId, Long cursor, int size) {
-    List<Post> posts = getNewsFeed(userId, cursor, size);
+    activeUserCacheService.markActive(userId);
+    QueryCountInspector.start();
+    try {
+      return buildNewsFeedResponse(userId, cursor, size);
+    } finally {
+      // 페이지당 SQL 수 기록 (N+1 회귀 감지용)
+      int queryCount = QueryCountInspector.stop();
+      meterRegistry.summary(FEED_QUERY_COUNT_METRIC).record(queryCount);
+      log.debug("뉴스피드 조회 SQL 수: userId={}, queryCount={}", userId, queryCount);
+    }
+  }
+
+  /**
+   * 뉴스피드 포스트에 작성자 정보를 붙여 응답 생성
+   */
+  private NewsFeedResponse buildNewsFeedResponse(Long userId, Long cursor, int size) {
+    List<PostSnapshot> posts = getNewsFeed(userId, cursor, size);
 
     // 모든 필요한 사용자 ID 수집
-    Set<Long> userIds =
-        posts.stream().map(post -> post.getUser().getId()).collect(Collectors.toSet());
+    Set<Long> userIds = posts.stream().map(PostSnapshot::authorId).collect(Collectors.toSet());
 
     // 배치로 사용자 정보 조회
-    List<User> users = getUsersFromCacheOrDatabaseBatch(userIds);
-    Map<Long, User> userMap = users.stream().collect(Collectors.toMap(User::getId, user -> user));
+    List<UserSnapshot> users = getUsersFromCacheOrDatabaseBatch(userIds);
+    Map<Long, UserSnapshot> userMap =
+        users.stream().collect(Collectors.toMap(UserSnapshot::id, user -> user));
 
-    // Post Entity를 PostWithUserDto로 변환
+    // 캐시 스냅샷을 PostWithUserDto로 변환 (엔티티를 거치지 않으므로 지연 로딩 없음)
     List<NewsFeedResponse.PostWithUserDto> postsWithUser = posts.stream().map(post -> {
-      User user = userMap.get(post.getUser().getId());
+      UserSnapshot user = userMap.get(post.authorId());
       UserDto userDto = user != null ? convertToUserDto(user) : null;
 
-      return NewsFeedResponse.PostWithUserDto.builder().id(post.getId()).user(userDto)
-          .content(post.getContent()).mediaUrls(post.getMediaUrls()).createdAt(post.getCreatedAt())
+      return NewsFeedResponse.PostWithUserDto.builder().id(post.id()).user(userDto)
+          .content(post.content()).mediaUrls(post.mediaUrls()).createdAt(post.createdAt())
           .build();
     }).collect(Collectors.toList());
 
     boolean hasMore = posts.size() == size;
-    Long nextCursor = hasMore && !posts.isEmpty() ? posts.get(posts.size() - 1).getId() : null;
+    Long nextCursor = hasMore && !posts.isEmpty() ? posts.get(posts.size() - 1).id() : null;
 
     return NewsFeedResponse.builder().posts(postsWithUser).hasMore(hasMore).nextCursor(nextCursor)
         .build();
@@ -89,153 +160,298 @@ public class FeedService {
   /**
    * 사용자의 뉴스피드 조회 (캐시 우선, DB 폴백)
    */
-  private List<Post> getNewsFeed(Long userId, Long cursor, int size) {
+  private List<PostSnapshot> getNewsFeed(Long userId, Long cursor, int size) {
     User user = findUserById(userId);
 
     // 뉴스피드 캐시에서 조회
-    List<Long> postIds = getNewsFeedFromCacheOrDatabase(userId, cursor, size);
+    List<Long> pushedPostIds = getNewsFeedFromCacheOrDatabase(userId, cursor, size);
+
+    // 팬아웃되지 않는 셀럽 작성자의 포스트 병합
+    List<Long> postIds = mergeCelebrityPosts(userId, pushedPostIds, cursor, size);
 
     // 포스트 정보 조회
-    List<Post> posts = getPostsFromCacheOrDatabaseBatch(postIds);
+    List<PostSnapshot> posts = getPostsFromCacheOrDatabaseBatch(postIds);
 
     return posts;
   }
 
   /**
-   * 뉴스피드 캐시에서 조회하고, 미스 시 DB에서 재구성
+   * 뉴스피드 캐시에서 조회하고, 미스 시 작성자 타임라인을 병합하여 재구성
    */
   private List<Long> getNewsFeedFromCacheOrDatabase(Long userId, Long cursor, int size) {
-    // Cache Miss 확인
-    if (newsFeedCacheService.isCacheMiss(userId, size)) {
-      log.debug("뉴스피드 캐시 미스 감지: userId={}, requestedSize={}", userId, size);
-      return rebuildNewsFeedCache(userId, cursor, size);
+    List<Long> feedPostIds;
+    // Cache Miss 확인 (재구성된 뉴스피드 키가 없으면 미스)
+    if (newsFeedCacheService.isCacheMiss(userId)) {
+      log.debug("뉴스피드 캐시 미스 감지: userId={}", userId);
+      feedPostIds = rebuildNewsFeedCacheOnce(userId, cursor, size);
+    } else {
+      // 캐시에서 뉴스피드 조회
+      feedPostIds = newsFeedCacheService.getUserFeed(userId, cursor, size);
+
+      // 자주 조회되는 첫 페이지는 만료 전에 확률적으로 미리 갱신
+      if (cursor == null && earlyRefreshBeta > 0 && newsFeedCacheService
+          .shouldRefreshEarly(userId, newsFeedRebuilder.averageRebuildMillis(),
+              earlyRefreshBeta)) {
+        refreshNewsFeedCacheEarly(userId);
+      }
     }
 
-    // 캐시에서 뉴스피드 조회
-    List<Long> cachedPostIds = newsFeedCacheService.getUserFeed(userId, cursor, size);
-    if (cachedPostIds.isEmpty()) {
-      log.debug("뉴스피드 캐시 미스, DB에서 뉴스피드 조회: userId={}", userId);
-      return rebuildNewsFeedCache(userId, cursor, size);
+    if (feedPostIds.size() < size && newsFeedCacheService.isFeedTruncated(userId)) {
+      // 캐시에 보관된 범위를 넘어선 깊은 페이지는 캐시를 재구성하지 않고 DB에서 조회
+      log.debug("뉴스피드 캐시 범위 초과, DB에서 조회: userId={}, cursor={}", userId, cursor);
+      return getPostIdsFromDatabase(followRepository.findFollowingIdsByFollowerId(userId), cursor,
+          size);
     }
 
-    log.debug("뉴스피드 캐시에서 조회: userId={}, postCount={}", userId, cachedPostIds.size());
-    return cachedPostIds;
+    log.debug("뉴스피드 조회: userId={}, postCount={}", userId, feedPostIds.size());
+    return feedPostIds;
   }
 
   /**
-   * 포스트 목록을 배치로 캐시에서 조회하고, 미스 시 DB에서 조회
+   * 팔로우 중인 셀럽 작성자의 최근 포스트를 푸시된 뉴스피드에 병합 (Pull)
    */
-  private List<Post> getPostsFromCacheOrDatabaseBatch(List<Long> postIds) {
-    if (postIds.isEmpty()) {
-      return List.of();
+  private List<Long> mergeCelebrityPosts(Long userId, List<Long> pushedPostIds, Long cursor,
+      int size) {
+    List<Long> celebrityIds = getCelebrityFollowingIds(userId);
+    if (celebrityIds.isEmpty()) {
+      return pushedPostIds;
+    }
+
+    // 읽기 지연 예산을 넘지 않도록 병합할 작성자 수 제한 (최근에 포스트를 작성한 셀럽 우선)
+    List<Long> targetIds =
+        celebrityIds.subList(0, Math.min(celebrityIds.size(), maxCelebrityMerge));
+    if (targetIds.size() < celebrityIds.size()) {
+      meterRegistry.counter(CELEBRITY_MERGE_TRUNCATED_METRIC).increment();
+      log.debug("셀럽 병합 한도 초과, 최근 작성 순으로 일부만 병합: userId={}, celebrityCount={}, "
+          + "merged={}", userId, celebrityIds.size(), targetIds.size());
     }
+    Map<Long, Timeline> timelines = authorTimelineCacheService.getTimelines(targetIds, cursor, size);
+
+    TreeSet<Long> merged = new TreeSet<>(Comparator.reverseOrder());
+    merged.addAll(pushedPostIds);
+    for (Long celebrityId : targetIds) {
+      Timeline timeline = timelines.get(celebrityId);
+      merged.addAll(timeline != null ? timeline.postIds()
+          : loadCelebrityTimeline(celebrityId, cursor, size));
+    }
+
+    log.debug("셀럽 포스트 병합: userId={}, celebrityCount={}, pushedCount={}", userId,
+        targetIds.size(), pushedPostIds.size());
+    return merged.stream().limit(size).collect(Collectors.toList());
+  }
 
-    // 1. 캐시에서 배치 조회
-    List<Post> posts = new ArrayList<>();
-    List<Long> missedPostIds = new ArrayList<>();
+  /**
+   * 사용자가 팔로우 중인 셀럽 작성자 ID 목록 조회 (캐시 우선, 최근 포스트가 최신인 셀럽부터)
+   * 셀럽이 새로 등록되면 캐시의 세대 번호가 맞지 않아 다시 계산됨
+   */
+  private List<Long> getCelebrityFollowingIds(Long userId) {
+    CelebrityFollowing cached = authorTimelineCacheService.getCachedCelebrityFollowing(userId);
+    if (cached.celebrityIds() != null) {
+      return cached.celebrityIds();
+    }
 
-    for (Long postId : postIds) {
-      Object cachedPost = postCacheService.getCachedPost(postId);
-      if (cachedPost instanceof Post) {
-        posts.add((Post) cachedPost);
-      } else {
-        missedPostIds.add(postId);
+    // 팔로잉 ID를 키셋 페이지로 읽으면서 페이지마다 셀럽 여부 확인 (페이지 사이에는 커넥션을 잡지 않음)
+    List<Long> celebrityIds = new ArrayList<>();
+    long afterId = 0L;
+    while (true) {
+      List<Long> page = followRepository.findFollowingIdsAfter(userId, afterId,
+          PageRequest.of(0, CELEBRITY_FILTER_BATCH_SIZE));
+      celebrityIds.addAll(authorTimelineCacheService.filterCelebrities(page));
+      if (page.size() < CELEBRITY_FILTER_BATCH_SIZE) {
+        break;
       }
+      afterId = page.get(page.size() - 1);
+    }
+
+    // 병합 한도를 넘을 때 어떤 셀럽이 남는지 일정하도록 최신 포스트 ID 내림차순(같으면 작성자 ID)으로 정렬
+    Map<Long, List<Long>> latestPostIds =
+        postRepository.findRecentIdsByUserIds(celebrityIds, null, 1);
+    Comparator<Long> byLatestPost = Comparator.comparingLong(
+        (Long authorId) -> latestPostIds.getOrDefault(authorId, List.of(0L)).get(0)).reversed();
+    celebrityIds.sort(byLatestPost.thenComparing(Comparator.naturalOrder()));
+
+    authorTimelineCacheService.cacheCelebrityFollowing(userId, cached.generation(), celebrityIds);
+    return celebrityIds;
+  }
+
+  /**
+   * 캐시에 없는 셀럽 작성자 타임라인을 DB에서 재구성
+   */
+  private List<Long> loadCelebrityTimeline(Long authorId, Long cursor, int size) {
+    authorTimelineCacheService.beginTimelineLoad(List.of(authorId));
+    List<Long> postIds = postRepository.findIdsByUserIdOrderByIdDesc(authorId,
+        PageRequest.of(0, AuthorTimelineCacheService.MAX_TIMELINE_SIZE));
+    authorTimelineCacheService.cacheTimeline(authorId, postIds);
+
+    return postIds.stream().filter(postId -> cursor == null || postId < cursor).limit(size)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 포스트 목록을 배치로 캐시에서 조회하고, 미스 시 DB에서 조회
+   */
+  private List<PostSnapshot> getPostsFromCacheOrDatabaseBatch(List<Long> postIds) {
+    if (postIds.isEmpty()) {
+      return List.of();
     }
 
-    log.debug("포스트 캐시 조회 결과: total={}, cached={}, missed={}", postIds.size(), posts.size(),
+    // 1. 캐시에서 배치 조회 (니어 캐시 + Redis MGET 1회)
+    Map<Long, PostSnapshot> postMap = new HashMap<>(postCacheService.getCachedPosts(postIds));
+    List<Long> missedPostIds =
+        postIds.stream().filter(postId -> !postMap.containsKey(postId)).collect(Collectors.toList());
+
+    log.debug("포스트 캐시 조회 결과: total={}, cached={}, missed={}", postIds.size(), postMap.size(),
         missedPostIds.size());
 
-    // 2. 캐시 미스된 포스트들을 DB에서 배치 조회
+    // 2. 캐시 미스된 포스트들을 DB에서 배치 조회 (다른 요청이 로드 중인 포스트는 그 결과를 사용)
     if (!missedPostIds.isEmpty()) {
       log.debug("포스트 캐시 미스, DB에서 조회: postIds={}", missedPostIds);
-      List<Post> dbPosts = postRepository.findAllById(missedPostIds);
-
-      // DB에서 조회한 포스트들을 캐시에 저장
-      for (Post post : dbPosts) {
-        postCacheService.cachePost(post.getId(), post);
-        posts.add(post);
-      }
-
-      log.debug("포스트 DB 조회 및 캐싱 완료: cachedCount={}", dbPosts.size());
+      postMap.putAll(postLoadFlight.executeAll(missedPostIds, this::loadPostsFromDatabase));
     }
 
-    return posts;
+    // 뉴스피드 순서(최신순) 유지
+    return postIds.stream().map(postMap::get).filter(Objects::nonNull)
+        .collect(Collectors.toList());
   }
 
   /**
    * 사용자들을 배치로 캐시에서 조회하고, 미스 시 DB에서 조회
    */
-  private List<User> getUsersFromCacheOrDatabaseBatch(Set<Long> userIds) {
+  private List<UserSnapshot> getUsersFromCacheOrDatabaseBatch(Set<Long> userIds) {
     if (userIds.isEmpty()) {
       return List.of();
     }
 
-    // 1. 캐시에서 배치 조회
-    List<User> users = new ArrayList<>();
-    List<Long> missedUserIds = new ArrayList<>();
-
-    for (Long userId : userIds) {
-      Object cachedUser = userCacheService.getCachedUser(userId);
-      if (cachedUser instanceof User) {
-        users.add((User) cachedUser);
-      } else {
-        missedUserIds.add(userId);
-      }
-    }
+    // 1. 캐시에서 배치 조회 (니어 캐시 + Redis MGET 1회)
+    List<UserSnapshot> users = new ArrayList<>(userCacheService.getCachedUsers(userIds).values());
+    Set<Long> cachedUserIds = users.stream().map(UserSnapshot::id).collect(Collectors.toSet());
+    List<Long> missedUserIds = userIds.stream().filter(userId -> !cachedUserIds.contains(userId))
+        .collect(Collectors.toList());
 
     log.debug("사용자 캐시 조회 결과: total={}, cached={}, missed={}", userIds.size(), users.size(),
         missedUserIds.size());
 
-    // 2. 캐시 미스된 사용자들을 DB에서 배치 조회
+    // 2. 캐시 미스된 사용자들을 DB에서 배치 조회 (다른 요청이 로드 중인 사용자는 그 결과를 사용)
     if (!missedUserIds.isEmpty()) {
       log.debug("사용자 캐시 미스, DB에서 조회: userIds={}", missedUserIds);
-      List<User> dbUsers = userRepository.findAllById(missedUserIds);
-
-      // DB에서 조회한 사용자들을 캐시에 저장
-      for (User user : dbUsers) {
-        userCacheService.cacheUser(user.getId(), user);
-        users.add(user);
-      }
-
-      log.debug("사용자 DB 조회 및 캐싱 완료: cachedCount={}", dbUsers.size());
+      users.addAll(userLoadFlight.executeAll(missedUserIds, this::loadUsersFromDatabase).values());
     }
 
     return users;
   }
 
   /**
-   * DB에서 뉴스피드 조회하고 뉴스피드 캐시만 재구성
+   * DB에서 포스트를 조회하여 캐시에 저장
+   * 작성자와 미디어 URL을 함께 조회하므로 포스트 수와 관계없이 쿼리 1회
    */
-  private List<Long> rebuildNewsFeedCache(Long userId, Long cursor, int size) {
-    User user = findUserById(userId);
-    List<User> followingUsers = followRepository.findFollowingByFollower(user);
-    List<Post> posts = getPostsFromDatabase(followingUsers, cursor, size);
+  private Map<Long, PostSnapshot> loadPostsFromDatabase(List<Long> postIds) {
+    List<Post> posts = postRepository.findAllForFeedByIdIn(postIds);
+    Map<Long, PostSnapshot> dbPosts =
+        posts.stream().collect(Collectors.toMap(Post::getId, PostSnapshot::from));
 
-    if (posts.isEmpty()) {
-      return List.of();
-    }
+    // DB에서 조회한 포스트들을 파이프라인으로 캐시에 저장
+    postCacheService.cachePosts(dbPosts);
+
+    // 함께 조회된 작성자도 캐시에 저장하여 이어지는 사용자 조회가 DB로 가지 않도록 함
+    Map<Long, UserSnapshot> authors = posts.stream().map(Post::getUser)
+        .collect(Collectors.toMap(User::getId, UserSnapshot::from, (first, second) -> first));
+    userCacheService.cacheUsers(authors);
+
+    log.debug("포스트 DB 조회 및 캐싱 완료: cachedCount={}", dbPosts.size());
+    return dbPosts;
+  }
 
-    // 포스트 ID 수집
-    List<Long> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+  /**
+   * DB에서 사용자를 조회하여 캐시에 저장
+   */
+  private Map<Long, UserSnapshot> loadUsersFromDatabase(List<Long> userIds) {
+    Map<Long, UserSnapshot> dbUsers = userRepository.findAllById(userIds).stream()
+        .collect(Collectors.toMap(User::getId, UserSnapshot::from));
 
-    // 뉴스피드 캐시 재구성 (포스트 ID만 저장)
-    posts.forEach(post -> newsFeedCacheService.addToUserFeed(userId, post.getId()));
+    // DB에서 조회한 사용자들을 파이프라인으로 캐시에 저장
+    userCacheService.cacheUsers(dbUsers);
 
-    log.info("뉴스피드 캐시 재구성 완료: userId={}, postCount={}", userId, posts.size());
-    return postIds;
+    log.debug("사용자 DB 조회 및 캐싱 완료: cachedCount={}", dbUsers.size());
+    return dbUsers;
   }
 
   /**
-   * DB에서 포스트 조회
+   * 뉴스피드 캐시 재구성 (요청 병합)
+   * 같은 노드의 동시 요청은 한 번만 재구성하고, 다른 노드가 재구성 중이면 잠시 기다렸다가 캐시를 다시 읽음
    */
-  private List<Post> getPostsFromDatabase(List<User> followingUsers, Long cursor, int size) {
-    if (cursor != null) {
-      return postRepository.findByUserInAndIdLessThanOrderByIdDesc(followingUsers, cursor,
-          PageRequest.of(0, size));
-    } else {
-      return postRepository.findByUserInOrderByIdDesc(followingUsers, PageRequest.of(0, size));
+  private List<Long> rebuildNewsFeedCacheOnce(Long userId, Long cursor, int size) {
+    List<Long> feedPostIds = feedRebuildFlight.execute(userId, () -> {
+      String lockToken = newsFeedCacheService.tryLockRebuild(userId, rebuildLockTtlMillis);
+      if (lockToken == null) {
+        if (waitForRebuiltFeed(userId)) {
+          return null;
+        }
+        // 기다려도 채워지지 않으면 직접 재구성 (대기 시간 제한)
+        log.debug("다른 노드의 뉴스피드 재구성 대기 시간 초과: userId={}", userId);
+      }
+      try {
+        return newsFeedRebuilder.rebuild(userId, size);
+      } finally {
+        newsFeedCacheService.unlockRebuild(userId, lockToken);
+      }
+    });
+
+    // 다른 노드가 재구성했으면 캐시에서 요청한 페이지 조회
+    if (feedPostIds == null) {
+      return newsFeedCacheService.getUserFeed(userId, cursor, size);
     }
+    return feedPostIds.stream().filter(postId -> cursor == null || postId < cursor).limit(size)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 만료가 가까운 뉴스피드 캐시를 백그라운드에서 미리 재구성 (다른 요청이나 노드가 재구성 중이면 생략)
+   * 잠금은 요청 스레드에서 잡아 같은 키의 갱신 작업이 대기열에 한 번만 들어가도록 함
+   */
+  private void refreshNewsFeedCacheEarly(Long userId) {
+    String lockToken = newsFeedCacheService.tryLockRebuild(userId, rebuildLockTtlMillis);
+    if (lockToken == null) {
+      return;
+    }
+    try {
+      newsFeedRebuilder.refreshEarly(userId, lockToken);
+    } catch (TaskRejectedException e) {
+      // 대기열이 가득 차면 이번 갱신은 생략 (캐시가 만료되면 조회 시 재구성)
+      log.debug("뉴스피드 조기 갱신 대기열 초과, 생략: userId={}", userId);
+      newsFeedCacheService.unlockRebuild(userId, lockToken);
+    }
+  }
+
+  /**
+   * 다른 노드가 뉴스피드 캐시를 재구성할 때까지 짧게 대기 (재구성되면 true)
+   */
+  private boolean waitForRebuiltFeed(Long userId) {
+    long deadline = System.currentTimeMillis() + rebuildLockWaitMillis;
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(REBUILD_WAIT_POLL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      if (!newsFeedCacheService.isCacheMiss(userId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * DB에서 뉴스피드 페이지의 포스트 ID 조회
+   * 작성자별로 커서 이전 포스트를 size개까지 인덱스 범위 스캔으로 읽고 애플리케이션에서 k-way 병합
+   */
+  private List<Long> getPostIdsFromDatabase(List<Long> followingIds, Long cursor, int size) {
+    if (followingIds.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, List<Long>> postIdsByAuthor =
+        postRepository.findRecentIdsByUserIds(followingIds, cursor, size);
+    return SortedIdMerger.mergeDescending(postIdsByAuthor.values(), size);
   }
 
   /**
@@ -262,4 +478,12 @@ public class FeedService {
     return UserDto.builder().id(user.getId()).username(user.getUsername()).email(user.getEmail())
         .createdAt(user.getCreatedAt()).build();
   }
+
+  /**
+   * 사용자 캐시 스냅샷을 UserDto로 변환
+   */
+  private UserDto convertToUserDto(UserSnapshot user) {
+    return UserDto.builder().id(user.id()).username(user.username()).email(user.email())
+        .createdAt(user.createdAt()).build();
+  }
 }
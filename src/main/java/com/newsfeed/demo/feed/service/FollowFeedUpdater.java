@@ -0,0 +1,110 @@
+package com.newsfeed.demo.feed.service;
+
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.newsfeed.demo.config.AsyncConfig;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService.Timeline;
+import com.newsfeed.demo.feed.cache.NewsFeedCacheService;
+import com.newsfeed.demo.feed.repository.PostRepository;
+import com.newsfeed.demo.user.event.FollowChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팔로우 변경 시 뉴스피드 캐시를 무효화하지 않고 점진적으로 갱신
+ * 팔로우하면 작성자의 최근 포스트를 병합하고, 언팔로우하면 작성자의 포스트를 제거
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FollowFeedUpdater {
+
+  private final NewsFeedCacheService newsFeedCacheService;
+  private final AuthorTimelineCacheService authorTimelineCacheService;
+  private final PostRepository postRepository;
+
+  /**
+   * 팔로우 트랜잭션 커밋 후 비동기로 뉴스피드 갱신
+   */
+  @Async(AsyncConfig.FEED_UPDATE_EXECUTOR)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onFollowChanged(FollowChangedEvent event) {
+    try {
+      if (event.followed()) {
+        mergeFollowingPosts(event.followerId(), event.followingId());
+      } else {
+        removeFollowingPosts(event.followerId(), event.followingId());
+      }
+    } catch (Exception e) {
+      // 갱신에 실패하면 다음 조회에서 재구성되도록 뉴스피드를 무효화
+      log.error("팔로우 변경 뉴스피드 갱신 실패, 뉴스피드 무효화: followerId={}, followingId={}",
+          event.followerId(), event.followingId(), e);
+      newsFeedCacheService.invalidateUserFeed(event.followerId());
+    }
+  }
+
+  /**
+   * 새로 팔로우한 작성자의 포스트 중 뉴스피드 하한(가장 오래된 포스트) 이상을 모두 뉴스피드에 병합
+   * 타임라인 캐시로 하한까지 채울 수 있으면 캐시를, 아니면 (user_id, id) 인덱스로 뉴스피드 최대 크기까지 조회
+   * 기존 뉴스피드는 지우지 않으므로 포스트가 많은 작성자를 팔로우해도 뉴스피드가 짧아지지 않음
+   * 셀럽 작성자의 포스트는 읽기 시 병합되므로 생략
+   */
+  private void mergeFollowingPosts(Long followerId, Long followingId) {
+    if (newsFeedCacheService.isCacheMiss(followerId)
+        || authorTimelineCacheService.isCelebrity(followingId)) {
+      return;
+    }
+
+    long floor = newsFeedCacheService.getFeedFloor(followerId);
+    int depth = AuthorTimelineCacheService.MAX_TIMELINE_SIZE;
+    Timeline timeline =
+        authorTimelineCacheService.getTimelines(List.of(followingId), null, depth).get(followingId);
+    List<Long> postIds;
+    if (timeline != null && coversFloor(timeline, floor)) {
+      postIds = timeline.postIds();
+    } else {
+      boolean cacheable = timeline == null && floor == 0L;
+      if (cacheable) {
+        authorTimelineCacheService.beginTimelineLoad(List.of(followingId));
+      }
+      postIds = postRepository.findIdsByUserIdAndIdAtLeast(followingId, floor,
+          PageRequest.of(0, NewsFeedCacheService.MAX_FEED_SIZE));
+      // 하한 없이 조회한 경우에만 작성자의 최신 포스트 그대로이므로 타임라인 캐시에 저장
+      if (cacheable) {
+        authorTimelineCacheService
+            .cacheTimeline(followingId, postIds.subList(0, Math.min(depth, postIds.size())));
+      }
+    }
+
+    newsFeedCacheService.mergeIntoUserFeed(followerId, postIds);
+    log.debug("팔로우한 작성자 포스트 병합: followerId={}, followingId={}, floor={}, postCount={}",
+        followerId, followingId, floor, postIds.size());
+  }
+
+  // 타임라인을 끝까지 읽었거나 마지막 포스트가 하한보다 오래되었으면 하한 이상의 포스트를 모두 담고 있음
+  private static boolean coversFloor(Timeline timeline, long floor) {
+    List<Long> postIds = timeline.postIds();
+    return !timeline.hasMore() || (!postIds.isEmpty() && postIds.get(postIds.size() - 1) < floor);
+  }
+
+  /**
+   * 언팔로우한 작성자의 포스트를 뉴스피드에서 제거
+   * 뉴스피드에 남아 있을 수 있는 최근 포스트 ID를 (user_id, id) 인덱스로 조회
+   */
+  private void removeFollowingPosts(Long followerId, Long followingId) {
+    if (newsFeedCacheService.isCacheMiss(followerId)) {
+      return;
+    }
+    List<Long> postIds = postRepository
+        .findRecentIdsByUserIds(List.of(followingId), null, NewsFeedCacheService.MAX_FEED_SIZE)
+        .getOrDefault(followingId, List.of());
+    newsFeedCacheService.removeFromUserFeed(followerId, postIds);
+    log.debug("언팔로우한 작성자 포스트 제거: followerId={}, followingId={}, postCount={}", followerId,
+        followingId, postIds.size());
+  }
+}
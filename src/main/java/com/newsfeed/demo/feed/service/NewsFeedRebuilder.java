@@ -0,0 +1,209 @@
+package com.newsfeed.demo.feed.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import com.newsfeed.demo.common.util.SortedIdMerger;
+import com.newsfeed.demo.config.AsyncConfig;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService.Timeline;
+import com.newsfeed.demo.feed.cache.NewsFeedCacheService;
+import com.newsfeed.demo.feed.repository.PostRepository;
+import com.newsfeed.demo.user.repository.FollowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 뉴스피드 캐시 재구성 - 팔로잉 작성자 타임라인을 병합하여 뉴스피드 캐시를 채움
+ * 캐시 미스는 조회 요청에서 동기로, 만료 전 조기 갱신은 백그라운드에서 비동기로 재구성
+ * 트랜잭션 없이 짧은 조회만 실행하므로 재구성 중에 DB 커넥션을 오래 잡고 있지 않음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NewsFeedRebuilder {
+
+  private final FollowRepository followRepository;
+  private final PostRepository postRepository;
+  private final NewsFeedCacheService newsFeedCacheService;
+  private final AuthorTimelineCacheService authorTimelineCacheService;
+
+  private static final int REBUILD_AUTHOR_CHUNK_SIZE = 500; // 재구성 시 한 파이프라인으로 조회할 작성자 수
+  private static final int MIN_TIMELINE_MERGE_DEPTH = 20; // 재구성 시 작성자별로 읽을 최소 포스트 수
+  private static final int MAX_FEED_SIZE = NewsFeedCacheService.MAX_FEED_SIZE;
+  // 작성자 한 명이 뉴스피드에 담을 수 있는 포스트는 뉴스피드 크기를 넘지 않으므로 더 깊게 읽지 않음
+  private static final int MAX_REBUILD_TIMELINE_DEPTH = MAX_FEED_SIZE;
+
+  // 최근 뉴스피드 재구성 소요 시간 (지수 이동 평균, XFetch 계산용)
+  private final AtomicLong rebuildMillis = new AtomicLong(100);
+
+  /**
+   * 최근 뉴스피드 재구성 소요 시간 (밀리초)
+   */
+  public long averageRebuildMillis() {
+    return rebuildMillis.get();
+  }
+
+  /**
+   * 만료가 가까운 뉴스피드 캐시를 백그라운드에서 미리 재구성하고 재구성 잠금 해제
+   * 호출한 요청은 기다리지 않고 캐시된 페이지를 그대로 반환
+   */
+  @Async(AsyncConfig.FEED_REFRESH_EXECUTOR)
+  public void refreshEarly(Long userId, String lockToken) {
+    try {
+      log.debug("뉴스피드 캐시 조기 갱신: userId={}", userId);
+      rebuild(userId, MIN_TIMELINE_MERGE_DEPTH);
+    } catch (Exception e) {
+      // 조기 갱신에 실패해도 기존 캐시는 만료될 때까지 그대로 사용
+      log.error("뉴스피드 캐시 조기 갱신 실패: userId={}", userId, e);
+    } finally {
+      newsFeedCacheService.unlockRebuild(userId, lockToken);
+    }
+  }
+
+  /**
+   * 팔로잉 작성자 타임라인을 k-way 병합하여 뉴스피드 캐시를 한 번에 교체
+   * 작성자별로 최근 포스트를 페이지 크기 이상, 합쳐서 뉴스피드 최대 크기의 두 배 정도만 읽으므로
+   * 재구성 비용이 작성자들의 전체 포스트 수와 무관함
+   * 덜 읽은 타임라인 중 병합 결과에 더 들어갈 수 있는 작성자만 깊이를 두 배씩 늘려 다시 읽음
+   * 타임라인이 캐시에 없는 작성자만 DB에서 조회하며, 조회한 타임라인은 다음 재구성을 위해 캐시에 저장
+   * 포스트가 없어도 빈 뉴스피드로 저장하여 이후 조회는 캐시에서 처리
+   */
+  public List<Long> rebuild(Long userId, int pageSize) {
+    long startTime = System.currentTimeMillis();
+    // 타임라인을 읽은 뒤 팬아웃된 포스트도 결과에 반영되도록 읽기 전에 재구성 시작을 표시
+    newsFeedCacheService.beginRebuild(userId);
+    List<Long> followingIds = followRepository.findFollowingIdsByFollowerId(userId);
+    int depth = timelineMergeDepth(followingIds.size(), pageSize);
+
+    Map<Long, Timeline> timelines = readTimelines(followingIds, depth);
+    List<Long> merged = mergeTimelines(timelines);
+    List<Long> deficientIds = findDeficientAuthors(timelines, merged, MAX_FEED_SIZE);
+    int deepenedCount = 0;
+    while (!deficientIds.isEmpty() && depth < MAX_REBUILD_TIMELINE_DEPTH) {
+      depth = Math.min(depth * 2, MAX_REBUILD_TIMELINE_DEPTH);
+      deepenedCount += deficientIds.size();
+      timelines.putAll(readTimelines(deficientIds, depth));
+      merged = mergeTimelines(timelines);
+      deficientIds = findDeficientAuthors(timelines, merged, MAX_FEED_SIZE);
+    }
+
+    long cutoff = truncationCutoff(timelines, deficientIds);
+    List<Long> postIds =
+        merged.stream().filter(postId -> postId >= cutoff).collect(Collectors.toList());
+    boolean truncated = cutoff > 0 || merged.size() == MAX_FEED_SIZE;
+
+    // 뉴스피드 캐시 교체 (포스트 ID만 저장, 스크립트 1회, 재구성 중 팬아웃된 포스트는 유지)
+    newsFeedCacheService.replaceUserFeed(userId, postIds, truncated);
+
+    // XFetch 계산에 쓰는 재구성 시간 갱신 (지수 이동 평균)
+    long elapsed = System.currentTimeMillis() - startTime;
+    rebuildMillis.updateAndGet(previous -> (previous * 7 + elapsed) / 8);
+
+    log.info("뉴스피드 캐시 재구성 완료: userId={}, authorCount={}, depth={}, deepenedCount={}, "
+        + "postCount={}", userId, followingIds.size(), depth, deepenedCount, postIds.size());
+    return postIds;
+  }
+
+  /**
+   * 병합 결과에 더 들어갈 수 있는데 덜 읽은 작성자 ID 목록
+   * 병합 결과가 limit개로 찼으면 마지막으로 읽은 포스트가 limit번째 포스트보다 최신인 타임라인만 해당
+   * (그보다 오래된 포스트는 읽어도 limit개 안에 들어가지 못함)
+   */
+  static List<Long> findDeficientAuthors(Map<Long, Timeline> timelines, List<Long> merged,
+      int limit) {
+    long threshold = merged.size() >= limit ? merged.get(limit - 1) : 0L;
+    return timelines.entrySet().stream()
+        .filter(entry -> entry.getValue().hasMore() && !entry.getValue().postIds().isEmpty()
+            && lastPostId(entry.getValue()) > threshold)
+        .map(Map.Entry::getKey).sorted().collect(Collectors.toList());
+  }
+
+  /**
+   * 더 깊게 읽지 못한 타임라인이 남았을 때 뉴스피드에 담을 가장 오래된 포스트 ID (없으면 0)
+   * 그 타임라인의 마지막 포스트보다 오래된 구간은 병합 결과에서 빠진 포스트가 있을 수 있음
+   */
+  static long truncationCutoff(Map<Long, Timeline> timelines, List<Long> deficientIds) {
+    return deficientIds.stream().mapToLong(authorId -> lastPostId(timelines.get(authorId))).max()
+        .orElse(0L);
+  }
+
+  private static long lastPostId(Timeline timeline) {
+    return timeline.postIds().get(timeline.postIds().size() - 1);
+  }
+
+  private static List<Long> mergeTimelines(Map<Long, Timeline> timelines) {
+    List<List<Long>> postIds =
+        timelines.values().stream().map(Timeline::postIds).collect(Collectors.toList());
+    return SortedIdMerger.mergeDescending(postIds, MAX_FEED_SIZE);
+  }
+
+  /**
+   * 작성자별로 최근 포스트를 depth개까지 읽음
+   * 타임라인 캐시 크기 이내는 캐시에서 읽고(콜드 작성자만 DB), 그보다 깊으면 DB에서 인덱스 범위 스캔으로 읽음
+   */
+  private Map<Long, Timeline> readTimelines(List<Long> authorIds, int depth) {
+    Map<Long, Timeline> timelines = new HashMap<>();
+    for (int from = 0; from < authorIds.size(); from += REBUILD_AUTHOR_CHUNK_SIZE) {
+      int to = Math.min(from + REBUILD_AUTHOR_CHUNK_SIZE, authorIds.size());
+      List<Long> chunk = authorIds.subList(from, to);
+      if (depth > AuthorTimelineCacheService.MAX_TIMELINE_SIZE) {
+        Map<Long, List<Long>> loaded = postRepository.findRecentIdsByUserIds(chunk, null, depth);
+        for (Long authorId : chunk) {
+          List<Long> postIds = loaded.getOrDefault(authorId, List.of());
+          timelines.put(authorId, new Timeline(postIds, postIds.size() == depth));
+        }
+        continue;
+      }
+      Map<Long, Timeline> chunkTimelines =
+          new HashMap<>(authorTimelineCacheService.getTimelines(chunk, null, depth));
+      List<Long> coldAuthorIds = chunk.stream()
+          .filter(authorId -> !chunkTimelines.containsKey(authorId)).collect(Collectors.toList());
+      chunkTimelines.putAll(loadAuthorTimelines(coldAuthorIds, depth));
+      timelines.putAll(chunkTimelines);
+    }
+    return timelines;
+  }
+
+  /**
+   * 재구성 시 작성자별로 읽을 타임라인 깊이
+   * 작성자가 많을수록 작성자별로 적게 읽되, 요청한 페이지는 채울 수 있도록 페이지 크기 이상으로 읽음
+   */
+  private int timelineMergeDepth(int authorCount, int pageSize) {
+    int depth = authorCount == 0 ? pageSize : MAX_FEED_SIZE * 2 / authorCount;
+    depth = Math.max(depth, Math.max(pageSize, MIN_TIMELINE_MERGE_DEPTH));
+    return Math.min(depth, AuthorTimelineCacheService.MAX_TIMELINE_SIZE);
+  }
+
+  /**
+   * 캐시에 없는 작성자 타임라인을 DB에서 조회하여 캐시에 저장하고, 작성자별로 depth개씩 반환
+   * 작성자별 LIMIT 서브쿼리를 UNION ALL로 묶어 청크당 쿼리 1회로 조회
+   */
+  private Map<Long, Timeline> loadAuthorTimelines(List<Long> authorIds, int depth) {
+    if (authorIds.isEmpty()) {
+      return Map.of();
+    }
+    // DB 조회 이후에 추가되는 포스트도 타임라인 캐시에 반영되도록 조회 전에 구성 시작을 표시
+    authorTimelineCacheService.beginTimelineLoad(authorIds);
+    Map<Long, List<Long>> loaded = postRepository.findRecentIdsByUserIds(authorIds, null,
+        AuthorTimelineCacheService.MAX_TIMELINE_SIZE);
+
+    Map<Long, List<Long>> authorPostIds = new HashMap<>();
+    Map<Long, Timeline> timelines = new HashMap<>();
+    for (Long authorId : authorIds) {
+      // 포스트가 없는 작성자도 빈 타임라인으로 캐시
+      List<Long> postIds = loaded.getOrDefault(authorId, List.of());
+      authorPostIds.put(authorId, postIds);
+      timelines.put(authorId, new Timeline(postIds.subList(0, Math.min(depth, postIds.size())),
+          postIds.size() > depth));
+    }
+    authorTimelineCacheService.cacheTimelines(authorPostIds);
+
+    log.debug("작성자 타임라인 DB 조회 및 캐싱 완료: authorCount={}", authorIds.size());
+    return timelines;
+  }
+}
@@ -2,8 +2,11 @@ package com.newsfeed.demo.monitoring;
 
 import java.util.Map;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import com.newsfeed.demo.feed.service.FanoutDeadLetterService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -12,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 public class MonitorController {
 
   private final MonitoringService monitoringService;
+  private final FanoutDeadLetterService fanoutDeadLetterService;
 
   @GetMapping("/metrics")
   public Map<String, Object> getMetrics() {
@@ -22,4 +26,10 @@ public class MonitorController {
   public Map<String, String> getHealth() {
     return Map.of("status", "UP", "service", "NewsFeed Monitor");
   }
+
+  @PostMapping("/fanout/dead-letters/replay")
+  public Map<String, Integer> replayFanoutDeadLetters(
+      @RequestParam(defaultValue = "1000") int max) {
+    return Map.of("replayed", fanoutDeadLetterService.replay(max));
+  }
 }
@@ -0,0 +1,33 @@
+package com.newsfeed.demo.user.cache;
+
+import org.springframework.data.redis.serializer.SerializationException;
+import com.newsfeed.demo.common.cache.codec.BinaryReader;
+import com.newsfeed.demo.common.cache.codec.BinaryWriter;
+import com.newsfeed.demo.common.cache.codec.CacheCodec;
+
+/**
+ * 사용자 바이너리 코덱 - 필드 순서가 곧 스키마이며, 필드를 바꾸면 FORMAT_VERSION을 올림
+ */
+public class UserBinaryCodec implements CacheCodec<UserSnapshot> {
+
+  private static final int FORMAT_VERSION = 1;
+  private static final int INITIAL_BUFFER_SIZE = 64;
+
+  @Override
+  public byte[] encode(UserSnapshot user) {
+    return new BinaryWriter(INITIAL_BUFFER_SIZE).writeByte(FORMAT_VERSION)
+        .writeVarLong(user.id()).writeString(user.username()).writeString(user.email())
+        .writeDateTime(user.createdAt()).toByteArray();
+  }
+
+  @Override
+  public UserSnapshot decode(byte[] bytes) {
+    BinaryReader reader = new BinaryReader(bytes);
+    int version = reader.readByte();
+    if (version != FORMAT_VERSION) {
+      throw new SerializationException("지원하지 않는 사용자 캐시 형식: version=" + version);
+    }
+    return new UserSnapshot(reader.readVarLong(), reader.readString(), reader.readString(),
+        reader.readDateTime());
+  }
+}
@@ -1,8 +1,16 @@
 package com.newsfeed.demo.user.cache;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
+import com.newsfeed.demo.common.cache.NearCacheManager;
+import com.newsfeed.demo.common.cache.codec.CacheCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,17 +20,22 @@ import lombok.extern.slf4j.Slf4j;
 public class UserCacheService {
 
   private final RedisTemplate<String, Object> redisTemplate;
+  private final NearCacheManager nearCacheManager;
+  private final CacheCodec<UserSnapshot> userCacheCodec;
 
+  private static final String NEAR_CACHE_NAME = "user";
   private static final String USER_CACHE_KEY_PREFIX = "user:";
   private static final int USER_CACHE_TTL = 1800; // 30분
 
   /**
    * 사용자 데이터 캐시에 저장
    */
-  public void cacheUser(Long userId, Object userData) {
+  public void cacheUser(Long userId, UserSnapshot user) {
     String key = USER_CACHE_KEY_PREFIX + userId;
     try {
-      redisTemplate.opsForValue().set(key, userData, USER_CACHE_TTL, TimeUnit.SECONDS);
+      byte[] value = userCacheCodec.encode(user);
+      redisTemplate.execute((RedisCallback<Object>) connection -> connection.stringCommands()
+          .set(rawKey(key), value, Expiration.seconds(USER_CACHE_TTL), SetOption.upsert()));
       log.debug("사용자 캐시 저장: userId={}", userId);
     } catch (Exception e) {
       log.error("사용자 캐시 저장 실패: userId={}", userId, e);
@@ -30,18 +43,81 @@ public class UserCacheService {
   }
 
   /**
-   * 사용자 데이터 캐시에서 조회
+   * 여러 사용자 데이터를 파이프라인으로 한 번에 캐시에 저장 (SET + TTL)
    */
-  public Object getCachedUser(Long userId) {
+  public void cacheUsers(Map<Long, UserSnapshot> users) {
+    if (users.isEmpty()) {
+      return;
+    }
+    try {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        users.forEach((userId, user) -> connection.stringCommands().set(
+            rawKey(USER_CACHE_KEY_PREFIX + userId), userCacheCodec.encode(user),
+            Expiration.seconds(USER_CACHE_TTL), SetOption.upsert()));
+        return null;
+      });
+      log.debug("사용자 캐시 일괄 저장: userCount={}", users.size());
+    } catch (Exception e) {
+      log.error("사용자 캐시 일괄 저장 실패: userIds={}", users.keySet(), e);
+    }
+  }
+
+  /**
+   * 사용자 데이터 캐시에서 조회 (로컬 니어 캐시 우선, 없으면 Redis)
+   */
+  public UserSnapshot getCachedUser(Long userId) {
+    return (UserSnapshot) nearCacheManager.getCache(NEAR_CACHE_NAME).get(userId,
+        this::getRemoteCachedUser);
+  }
+
+  private Object getRemoteCachedUser(Long userId) {
     String key = USER_CACHE_KEY_PREFIX + userId;
     try {
-      return redisTemplate.opsForValue().get(key);
+      byte[] value = redisTemplate.execute(
+          (RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey(key)));
+      return decode(userId, value);
     } catch (Exception e) {
       log.error("사용자 캐시 조회 실패: userId={}", userId, e);
       return null;
     }
   }
 
+  /**
+   * 여러 사용자 데이터를 캐시에서 한 번에 조회 (로컬 니어 캐시 우선, 나머지는 Redis MGET 1회)
+   * 캐시에 없는 사용자는 결과 Map에 포함하지 않음
+   */
+  public Map<Long, UserSnapshot> getCachedUsers(Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, UserSnapshot> result = new HashMap<>();
+    nearCacheManager.getCache(NEAR_CACHE_NAME).getAll(userIds, this::getRemoteCachedUsers)
+        .forEach((userId, user) -> result.put(userId, (UserSnapshot) user));
+    return result;
+  }
+
+  private Map<Long, Object> getRemoteCachedUsers(List<Long> userIds) {
+    Map<Long, Object> result = new HashMap<>();
+    try {
+      byte[][] keys = userIds.stream().map(userId -> rawKey(USER_CACHE_KEY_PREFIX + userId))
+          .toArray(byte[][]::new);
+      List<byte[]> values = redisTemplate.execute(
+          (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys));
+      if (values == null) {
+        return result;
+      }
+      for (int i = 0; i < userIds.size(); i++) {
+        UserSnapshot user = decode(userIds.get(i), values.get(i));
+        if (user != null) {
+          result.put(userIds.get(i), user);
+        }
+      }
+    } catch (Exception e) {
+      log.error("사용자 캐시 일괄 조회 실패: userIds={}", userIds, e);
+    }
+    return result;
+  }
+
   /**
    * 사용자 캐시 무효화
    */
@@ -49,9 +125,29 @@ public class UserCacheService {
     String key = USER_CACHE_KEY_PREFIX + userId;
     try {
       redisTemplate.delete(key);
+      nearCacheManager.invalidate(NEAR_CACHE_NAME, userId);
       log.debug("사용자 캐시 무효화: userId={}", userId);
     } catch (Exception e) {
       log.error("사용자 캐시 무효화 실패: userId={}", userId, e);
     }
   }
+
+  private byte[] rawKey(String key) {
+    return redisTemplate.getStringSerializer().serialize(key);
+  }
+
+  /**
+   * 캐시 값 디코딩 (형식이 맞지 않는 값은 캐시 미스로 처리하여 DB 조회 후 다시 저장되도록 함)
+   */
+  private UserSnapshot decode(Long userId, byte[] value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return userCacheCodec.decode(value);
+    } catch (Exception e) {
+      log.warn("사용자 캐시 디코딩 실패, 캐시 미스로 처리: userId={}", userId, e);
+      return null;
+    }
+  }
 }
@@ -0,0 +1,15 @@
+package com.newsfeed.demo.user.cache;
+
+import java.time.LocalDateTime;
+import com.newsfeed.demo.user.entity.User;
+
+/**
+ * 사용자 캐시 레코드 - 엔티티 대신 캐시에 저장하는 불변 스냅샷
+ */
+public record UserSnapshot(Long id, String username, String email, LocalDateTime createdAt) {
+
+  public static UserSnapshot from(User user) {
+    return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(),
+        user.getCreatedAt());
+  }
+}
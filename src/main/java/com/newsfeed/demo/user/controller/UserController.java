@@ -1,6 +1,6 @@
 package com.newsfeed.demo.user.controller;
 
-import java.util.List;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,7 +8,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.newsfeed.demo.user.dto.FollowListResponse;
 import com.newsfeed.demo.user.dto.UserDto;
 import com.newsfeed.demo.user.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -33,17 +36,31 @@ public class UserController {
   }
 
   @GetMapping("/{userId}/following")
-  public ResponseEntity<List<UserDto>> getFollowing(@PathVariable Long userId) {
-    List<UserDto> following = userService.getFollowingList(userId);
+  public ResponseEntity<FollowListResponse> getFollowing(@PathVariable Long userId,
+      @RequestParam(required = false) Long cursor, @RequestParam(defaultValue = "20") int limit) {
+    FollowListResponse following = userService.getFollowingPage(userId, cursor, limit);
     return ResponseEntity.ok(following);
   }
 
   @GetMapping("/{userId}/followers")
-  public ResponseEntity<List<UserDto>> getFollowers(@PathVariable Long userId) {
-    List<UserDto> followers = userService.getFollowersList(userId);
+  public ResponseEntity<FollowListResponse> getFollowers(@PathVariable Long userId,
+      @RequestParam(required = false) Long cursor, @RequestParam(defaultValue = "20") int limit) {
+    FollowListResponse followers = userService.getFollowersPage(userId, cursor, limit);
     return ResponseEntity.ok(followers);
   }
 
+  @GetMapping("/{userId}/following/export")
+  public ResponseEntity<StreamingResponseBody> exportFollowing(@PathVariable Long userId) {
+    StreamingResponseBody body = outputStream -> userService.exportFollowing(userId, outputStream);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  @GetMapping("/{userId}/followers/export")
+  public ResponseEntity<StreamingResponseBody> exportFollowers(@PathVariable Long userId) {
+    StreamingResponseBody body = outputStream -> userService.exportFollowers(userId, outputStream);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
   @PostMapping("/{followerId}/follow/{userId}")
   public ResponseEntity<Void> followUser(@PathVariable Long followerId, @PathVariable Long userId) {
 
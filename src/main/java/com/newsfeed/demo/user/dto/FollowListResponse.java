@@ -0,0 +1,17 @@
+package com.newsfeed.demo.user.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowListResponse {
+  private List<UserDto> users;
+  private Long nextCursor;
+  private boolean hasMore;
+}
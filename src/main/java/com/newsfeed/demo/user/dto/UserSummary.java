@@ -0,0 +1,16 @@
+package com.newsfeed.demo.user.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 팔로워/팔로잉 목록 조회용 프로젝션 - User 엔티티를 로딩하지 않고 필요한 컬럼만 조회
+ */
+public interface UserSummary {
+  Long getId();
+
+  String getUsername();
+
+  String getEmail();
+
+  LocalDateTime getCreatedAt();
+}
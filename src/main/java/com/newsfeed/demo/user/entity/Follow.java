@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 }, indexes = {
     @Index(name = "idx_follower", columnList = "follower_id"),
     @Index(name = "idx_following", columnList = "following_id"),
+    @Index(name = "idx_following_follower", columnList = "following_id, follower_id"),
     @Index(name = "idx_follower_following", columnList = "follower_id, following_id")
 })
 @Data
@@ -1,6 +1,7 @@
 package com.newsfeed.demo.user.entity;
 
 import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -33,4 +34,13 @@ public class User {
   @Column(name = "created_at", updatable = false)
   private LocalDateTime createdAt;
 
+  // 팔로우/언팔로우 시 원자적으로 증감하는 비정규화 카운터 (FollowCountReconciler가 주기적으로 보정)
+  @ColumnDefault("0")
+  @Column(name = "followers_count", nullable = false, updatable = false)
+  private long followersCount;
+
+  @ColumnDefault("0")
+  @Column(name = "following_count", nullable = false, updatable = false)
+  private long followingCount;
+
 }
@@ -0,0 +1,6 @@
+package com.newsfeed.demo.user.event;
+
+/**
+ * 팔로우 관계 변경 이벤트 (팔로우 트랜잭션 커밋 후 뉴스피드 캐시를 점진적으로 갱신하는 데 사용)
+ */
+public record FollowChangedEvent(Long followerId, Long followingId, boolean followed) {}
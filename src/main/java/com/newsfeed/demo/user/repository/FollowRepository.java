@@ -1,9 +1,12 @@
 package com.newsfeed.demo.user.repository;
 
+import com.newsfeed.demo.user.dto.UserSummary;
 import com.newsfeed.demo.user.entity.Follow;
 import com.newsfeed.demo.user.entity.User;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,17 +21,33 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
   // 팔로잉 여부 확인
   boolean existsByFollowerAndFollowing(User follower, User following);
 
-  // 팔로잉 목록 조회
-  @Query("SELECT f.following FROM Follow f WHERE f.follower = :follower")
-  List<User> findFollowingByFollower(User follower);
-
-  // 팔로워 목록 조회
-  @Query("SELECT f.follower FROM Follow f WHERE f.following = :following")
-  List<User> findFollowersByFollowing(User following);
-
-  // 팔로잉 수 조회
-  long countByFollower(User follower);
-
-  // 팔로워 수 조회
-  long countByFollowing(User following);
+  // 팔로잉 ID 목록 조회 (User 엔티티 로딩 없이 ID만 조회)
+  @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId")
+  List<Long> findFollowingIdsByFollowerId(@Param("followerId") Long followerId);
+
+  // 팔로잉 ID 목록 키셋 페이지 조회 (afterId보다 큰 팔로잉 ID를 오름차순으로 조회)
+  @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId "
+      + "AND f.following.id > :afterId ORDER BY f.following.id")
+  List<Long> findFollowingIdsAfter(@Param("followerId") Long followerId,
+      @Param("afterId") Long afterId, PageRequest pageRequest);
+
+  // 팔로워 ID 목록 키셋 페이지 조회 (afterId보다 큰 팔로워 ID를 오름차순으로 조회)
+  @Query("SELECT f.follower.id FROM Follow f WHERE f.following.id = :followingId "
+      + "AND f.follower.id > :afterId ORDER BY f.follower.id")
+  List<Long> findFollowerIdsAfter(@Param("followingId") Long followingId,
+      @Param("afterId") Long afterId, PageRequest pageRequest);
+
+  // 팔로잉 사용자 요약 키셋 페이지 조회 (afterId보다 큰 사용자 ID를 오름차순으로, 필요한 컬럼만 조회)
+  @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.createdAt AS createdAt "
+      + "FROM Follow f JOIN f.following u WHERE f.follower.id = :followerId "
+      + "AND f.following.id > :afterId ORDER BY f.following.id")
+  List<UserSummary> findFollowingSummariesAfter(@Param("followerId") Long followerId,
+      @Param("afterId") Long afterId, PageRequest pageRequest);
+
+  // 팔로워 사용자 요약 키셋 페이지 조회 (afterId보다 큰 사용자 ID를 오름차순으로, 필요한 컬럼만 조회)
+  @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.createdAt AS createdAt "
+      + "FROM Follow f JOIN f.follower u WHERE f.following.id = :followingId "
+      + "AND f.follower.id > :afterId ORDER BY f.follower.id")
+  List<UserSummary> findFollowerSummariesAfter(@Param("followingId") Long followingId,
+      @Param("afterId") Long afterId, PageRequest pageRequest);
 }
@@ -1,13 +1,16 @@
 package com.newsfeed.demo.user.repository;
 
 import com.newsfeed.demo.user.entity.User;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -20,4 +23,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
   boolean existsByEmail(String email);
 
+  // 팔로워 수 조회 (엔티티 로딩 없이 카운터 컬럼만 조회)
+  @Query("SELECT u.followersCount FROM User u WHERE u.id = :userId")
+  Optional<Long> findFollowersCountById(@Param("userId") Long userId);
+
+  // 팔로워 수 원자적 증감
+  @Modifying
+  @Query("UPDATE User u SET u.followersCount = u.followersCount + :delta WHERE u.id = :userId")
+  int addFollowersCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+  // 팔로잉 수 원자적 증감
+  @Modifying
+  @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id = :userId")
+  int addFollowingCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+  // 사용자 ID 키셋 페이지 조회 (afterId보다 큰 ID를 오름차순으로 조회)
+  @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+  List<Long> findIdsAfter(@Param("afterId") Long afterId, PageRequest pageRequest);
+
+  // 실제 팔로우 관계 수와 다른 팔로워 카운터만 보정
+  @Modifying
+  @Query("UPDATE User u SET u.followersCount = "
+      + "(SELECT COUNT(f) FROM Follow f WHERE f.following.id = u.id) "
+      + "WHERE u.id IN :userIds AND u.followersCount <> "
+      + "(SELECT COUNT(f) FROM Follow f WHERE f.following.id = u.id)")
+  int reconcileFollowersCount(@Param("userIds") Collection<Long> userIds);
+
+  // 실제 팔로우 관계 수와 다른 팔로잉 카운터만 보정
+  @Modifying
+  @Query("UPDATE User u SET u.followingCount = "
+      + "(SELECT COUNT(f) FROM Follow f WHERE f.follower.id = u.id) "
+      + "WHERE u.id IN :userIds AND u.followingCount <> "
+      + "(SELECT COUNT(f) FROM Follow f WHERE f.follower.id = u.id)")
+  int reconcileFollowingCount(@Param("userIds") Collection<Long> userIds);
 }
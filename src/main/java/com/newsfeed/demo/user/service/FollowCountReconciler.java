@@ -0,0 +1,174 @@
+package com.newsfeed.demo.user.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.newsfeed.demo.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 팔로워/팔로잉 카운터 보정기 - 실제 팔로우 관계 수와 어긋난 카운터를 주기적으로 바로잡음
+ * 사용자를 키셋 페이지로 순회하며 배치마다 어긋난 행만 갱신
+ * 카운터 컬럼이 0으로 추가된 기존 데이터는 시작 완료 후 클러스터에서 한 번만 채움 (완료 플래그)
+ * 초기 보정과 주기 보정 모두 같은 Redis 잠금을 잡아 한 노드에서만 실행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FollowCountReconciler {
+
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  private static final String RECONCILE_LOCK_KEY = "user:follow-count:reconcile-lock";
+  // 초기 보정이 끝났음을 표시하는 키 (만료 없음)
+  private static final String BACKFILLED_KEY = "user:follow-count:backfilled";
+
+  // 자신이 획득한 잠금일 때만 삭제
+  private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('DEL', KEYS[1]) else return 0 end",
+      Long.class);
+
+  // 한 번의 트랜잭션에서 보정할 사용자 수
+  @Value("${newsfeed.user.follow-count-reconcile-batch-size:500}")
+  private int batchSize;
+
+  // 시작 시 초기 보정 여부 (완료 플래그가 없을 때만 실행)
+  @Value("${newsfeed.user.follow-count-reconcile-on-startup:true}")
+  private boolean reconcileOnStartup;
+
+  // 보정 잠금 TTL (보정이 이보다 오래 걸리면 다른 노드가 중복 보정할 수 있으나 결과는 같음)
+  @Value("${newsfeed.user.follow-count-reconcile-lock-ttl-ms:1800000}")
+  private long lockTtlMillis;
+
+  /**
+   * 시작 완료 후 초기 보정 (완료 플래그가 있으면 건너뜀, 잠금을 잡은 한 노드만 실행)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillOnStartup() {
+    if (!reconcileOnStartup || isBackfilled()) {
+      return;
+    }
+    String token = lock();
+    if (token == null) {
+      log.info("다른 노드가 팔로우 카운터 보정 중이므로 초기 보정 건너뜀");
+      return;
+    }
+    try {
+      // 플래그 확인 후 잠금을 잡기 전에 다른 노드가 초기 보정을 끝냈을 수 있음
+      if (isBackfilled()) {
+        return;
+      }
+      log.info("팔로우 카운터 초기 보정 시작");
+      int repaired = reconcileAll();
+      redisTemplate.opsForValue().set(BACKFILLED_KEY, "1");
+      log.info("팔로우 카운터 초기 보정 완료: 보정된 카운터 수={}", repaired);
+    } catch (Exception e) {
+      log.error("팔로우 카운터 초기 보정 중 오류 발생 (다음 시작 시 재시도)", e);
+    } finally {
+      unlock(token);
+    }
+  }
+
+  /**
+   * 주기적 카운터 보정 (잠금을 잡은 한 노드만 실행)
+   */
+  @Scheduled(fixedDelayString = "${newsfeed.user.follow-count-reconcile-interval-ms:3600000}",
+      initialDelayString = "${newsfeed.user.follow-count-reconcile-interval-ms:3600000}")
+  public void reconcilePeriodically() {
+    String token = lock();
+    if (token == null) {
+      log.debug("다른 노드가 팔로우 카운터 보정 중이므로 건너뜀");
+      return;
+    }
+    try {
+      reconcile();
+    } finally {
+      unlock(token);
+    }
+  }
+
+  /**
+   * 전체 사용자의 팔로워/팔로잉 카운터 보정 (보정된 카운터 수 반환)
+   */
+  public int reconcile() {
+    try {
+      int repaired = reconcileAll();
+      if (repaired > 0) {
+        log.warn("팔로우 카운터 보정 완료: 보정된 카운터 수={}", repaired);
+      }
+      return repaired;
+    } catch (Exception e) {
+      log.error("팔로우 카운터 보정 중 오류 발생", e);
+      return 0;
+    }
+  }
+
+  private int reconcileAll() {
+    int repaired = 0;
+    long afterId = 0L;
+    while (true) {
+      List<Long> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+      if (userIds.isEmpty()) {
+        break;
+      }
+      repaired += transactionTemplate.execute(status -> userRepository
+          .reconcileFollowersCount(userIds) + userRepository.reconcileFollowingCount(userIds));
+
+      if (userIds.size() < batchSize) {
+        break;
+      }
+      afterId = userIds.get(userIds.size() - 1);
+    }
+    return repaired;
+  }
+
+  private boolean isBackfilled() {
+    try {
+      return Boolean.TRUE.equals(redisTemplate.hasKey(BACKFILLED_KEY));
+    } catch (Exception e) {
+      log.error("팔로우 카운터 초기 보정 플래그 조회 실패", e);
+      return false;
+    }
+  }
+
+  /**
+   * 보정 잠금 획득 (획득 시 토큰, 다른 노드가 잡고 있으면 null)
+   * Redis 오류 시에는 빈 토큰을 반환하여 잠금 없이 보정 (보정은 여러 번 실행해도 결과가 같음)
+   */
+  private String lock() {
+    try {
+      String token = UUID.randomUUID().toString();
+      Boolean acquired = redisTemplate.opsForValue()
+          .setIfAbsent(RECONCILE_LOCK_KEY, token, Duration.ofMillis(lockTtlMillis));
+      return Boolean.TRUE.equals(acquired) ? token : null;
+    } catch (Exception e) {
+      log.error("팔로우 카운터 보정 잠금 실패", e);
+      return "";
+    }
+  }
+
+  private void unlock(String token) {
+    if (token.isEmpty()) {
+      return;
+    }
+    try {
+      redisTemplate.execute(UNLOCK_SCRIPT, List.of(RECONCILE_LOCK_KEY), token);
+    } catch (Exception e) {
+      log.error("팔로우 카운터 보정 잠금 해제 실패", e);
+    }
+  }
+}
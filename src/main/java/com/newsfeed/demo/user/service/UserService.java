@@ -1,13 +1,24 @@
 package com.newsfeed.demo.user.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.LongFunction;
 import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import com.newsfeed.demo.feed.cache.NewsFeedCacheService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService;
+import com.newsfeed.demo.user.dto.FollowListResponse;
 import com.newsfeed.demo.user.dto.UserDto;
+import com.newsfeed.demo.user.dto.UserSummary;
 import com.newsfeed.demo.user.entity.Follow;
 import com.newsfeed.demo.user.entity.User;
+import com.newsfeed.demo.user.event.FollowChangedEvent;
 import com.newsfeed.demo.user.repository.FollowRepository;
 import com.newsfeed.demo.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +32,12 @@ public class UserService {
 
   private final UserRepository userRepository;
   private final FollowRepository followRepository;
-  private final NewsFeedCacheService newsFeedCacheService;
+  private final AuthorTimelineCacheService authorTimelineCacheService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+
+  private static final int MAX_FOLLOW_PAGE_SIZE = 100; // 팔로워/팔로잉 목록 페이지 최대 크기
+  private static final int EXPORT_PAGE_SIZE = 1000; // 내보내기 시 한 번에 조회하고 flush할 건수
 
   public UserDto createUser(UserDto userDto) {
     User user = new User();
@@ -36,28 +52,55 @@ public class UserService {
     User user =
         userRepository.findById(userId).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-    long followingCount = followRepository.countByFollower(user);
-    long followersCount = followRepository.countByFollowing(user);
+    // 비정규화 카운터 컬럼을 사용하므로 팔로우 그래프 크기와 관계없이 O(1)
+    long followingCount = user.getFollowingCount();
+    long followersCount = user.getFollowersCount();
 
     return convertToDto(user, followingCount, followersCount);
   }
 
-  public List<UserDto> getFollowingList(Long userId) {
-    User user =
-        userRepository.findById(userId).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+  public FollowListResponse getFollowingPage(Long userId, Long cursor, int limit) {
+    validateUserExists(userId);
 
-    List<User> followingUsers = followRepository.findFollowingByFollower(user);
+    // 키셋 페이지네이션: 한 건 더 조회하여 다음 페이지 존재 여부 판단
+    int pageSize = clampPageSize(limit);
+    List<UserSummary> followingUsers = followRepository.findFollowingSummariesAfter(userId,
+        cursor != null ? cursor : 0L, PageRequest.of(0, pageSize + 1));
 
-    return followingUsers.stream().map(this::convertToSimpleDto).collect(Collectors.toList());
+    return convertToFollowListResponse(followingUsers, pageSize);
   }
 
-  public List<UserDto> getFollowersList(Long userId) {
-    User user =
-        userRepository.findById(userId).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+  public FollowListResponse getFollowersPage(Long userId, Long cursor, int limit) {
+    validateUserExists(userId);
 
-    List<User> followers = followRepository.findFollowersByFollowing(user);
+    // 키셋 페이지네이션: 한 건 더 조회하여 다음 페이지 존재 여부 판단
+    int pageSize = clampPageSize(limit);
+    List<UserSummary> followers = followRepository.findFollowerSummariesAfter(userId,
+        cursor != null ? cursor : 0L, PageRequest.of(0, pageSize + 1));
 
-    return followers.stream().map(this::convertToSimpleDto).collect(Collectors.toList());
+    return convertToFollowListResponse(followers, pageSize);
+  }
+
+  /**
+   * 팔로잉 목록 전체를 JSON 배열로 스트리밍 (키셋 페이지로 읽으면서 바로 쓰므로 메모리 사용량 일정)
+   * 페이지마다 짧은 조회만 실행하므로 다운로드 중에 트랜잭션과 DB 커넥션을 잡고 있지 않음
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void exportFollowing(Long userId, OutputStream outputStream) throws IOException {
+    validateUserExists(userId);
+    writeJsonArray(afterId -> followRepository.findFollowingSummariesAfter(userId, afterId,
+        PageRequest.of(0, EXPORT_PAGE_SIZE)), outputStream);
+  }
+
+  /**
+   * 팔로워 목록 전체를 JSON 배열로 스트리밍 (키셋 페이지로 읽으면서 바로 쓰므로 메모리 사용량 일정)
+   * 페이지마다 짧은 조회만 실행하므로 다운로드 중에 트랜잭션과 DB 커넥션을 잡고 있지 않음
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void exportFollowers(Long userId, OutputStream outputStream) throws IOException {
+    validateUserExists(userId);
+    writeJsonArray(afterId -> followRepository.findFollowerSummariesAfter(userId, afterId,
+        PageRequest.of(0, EXPORT_PAGE_SIZE)), outputStream);
   }
 
   public void followUser(Long followerId, Long userId) {
@@ -79,8 +122,13 @@ public class UserService {
     follow.setFollowing(userToFollow);
     followRepository.save(follow);
 
-    // 팔로우 관계 변경으로 인한 뉴스피드 캐시 무효화
-    newsFeedCacheService.invalidateUserFeed(followerId);
+    // 팔로우 관계와 같은 트랜잭션에서 카운터 증가
+    userRepository.addFollowingCount(followerId, 1);
+    userRepository.addFollowersCount(userId, 1);
+
+    // 뉴스피드는 커밋 후 비동기로 점진 갱신 (무효화하지 않아 재구성 비용이 들지 않음)
+    authorTimelineCacheService.invalidateCelebrityFollowing(followerId);
+    eventPublisher.publishEvent(new FollowChangedEvent(followerId, userId, true));
   }
 
   public void unfollowUser(Long followerId, Long userId) {
@@ -94,8 +142,13 @@ public class UserService {
 
     followRepository.delete(follow);
 
-    // 언팔로우 관계 변경으로 인한 뉴스피드 캐시 무효화
-    newsFeedCacheService.invalidateUserFeed(followerId);
+    // 팔로우 관계와 같은 트랜잭션에서 카운터 감소
+    userRepository.addFollowingCount(followerId, -1);
+    userRepository.addFollowersCount(userId, -1);
+
+    // 뉴스피드는 커밋 후 비동기로 점진 갱신 (언팔로우한 작성자의 포스트 제거)
+    authorTimelineCacheService.invalidateCelebrityFollowing(followerId);
+    eventPublisher.publishEvent(new FollowChangedEvent(followerId, userId, false));
   }
 
   public boolean isFollowing(Long followerId, Long userId) {
@@ -107,13 +160,55 @@ public class UserService {
     return followRepository.existsByFollowerAndFollowing(follower, userToCheck);
   }
 
+  private void validateUserExists(Long userId) {
+    if (!userRepository.existsById(userId)) {
+      throw new RuntimeException("사용자를 찾을 수 없습니다.");
+    }
+  }
+
   private UserDto convertToDto(User user, long followingCount, long followersCount) {
     return UserDto.builder().id(user.getId()).username(user.getUsername()).email(user.getEmail())
         .createdAt(user.getCreatedAt()).followingCount(followingCount)
         .followersCount(followersCount).build();
   }
 
-  private UserDto convertToSimpleDto(User user) {
+  private int clampPageSize(int limit) {
+    return Math.max(1, Math.min(limit, MAX_FOLLOW_PAGE_SIZE));
+  }
+
+  private FollowListResponse convertToFollowListResponse(List<UserSummary> users, int pageSize) {
+    boolean hasMore = users.size() > pageSize;
+    List<UserDto> page = users.stream().limit(pageSize).map(this::convertToSimpleDto)
+        .collect(Collectors.toList());
+    Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+
+    return FollowListResponse.builder().users(page).nextCursor(nextCursor).hasMore(hasMore).build();
+  }
+
+  /**
+   * 키셋 페이지를 끝까지 읽으며 JSON 배열로 쓰기 (페이지마다 클라이언트로 내보내 버퍼가 커지지 않도록 함)
+   */
+  private void writeJsonArray(LongFunction<List<UserSummary>> pageAfter, OutputStream outputStream)
+      throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.writeStartArray();
+      long afterId = 0L;
+      while (true) {
+        List<UserSummary> page = pageAfter.apply(afterId);
+        for (UserSummary user : page) {
+          generator.writeObject(convertToSimpleDto(user));
+        }
+        generator.flush();
+        if (page.size() < EXPORT_PAGE_SIZE) {
+          break;
+        }
+        afterId = page.get(page.size() - 1).getId();
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  private UserDto convertToSimpleDto(UserSummary user) {
     return UserDto.builder().id(user.getId()).username(user.getUsername()).email(user.getEmail())
         .createdAt(user.getCreatedAt()).followingCount(0).followersCount(0).build();
   }
@@ -66,10 +66,12 @@ public class NewsFeedIntegrationTest {
 
     // 6. 팔로워/팔로잉 조회 테스트
     mockMvc.perform(get("/api/users/{userId}/followers", user1.getId())).andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(2));
+        .andExpect(jsonPath("$.users.length()").value(2))
+        .andExpect(jsonPath("$.hasMore").value(false));
 
     mockMvc.perform(get("/api/users/{userId}/following", user3.getId())).andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(2));
+        .andExpect(jsonPath("$.users.length()").value(2))
+        .andExpect(jsonPath("$.hasMore").value(false));
   }
 
   @Test
@@ -0,0 +1,64 @@
+package com.newsfeed.demo.common.cache.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+public class BinaryWriterReaderTest {
+
+  @Test
+  public void testVarLongBoundaries() {
+    long[] values = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, 1L << 57, Long.MAX_VALUE,
+        -1, Long.MIN_VALUE};
+    BinaryWriter writer = new BinaryWriter(1);
+    for (long value : values) {
+      writer.writeVarLong(value);
+    }
+
+    BinaryReader reader = new BinaryReader(writer.toByteArray());
+    for (long value : values) {
+      assertEquals(value, reader.readVarLong());
+    }
+  }
+
+  @Test
+  public void testStringsAndListsRoundTrip() {
+    byte[] bytes = new BinaryWriter(4).writeString(null).writeString("").writeString("한글 😀 é")
+        .writeStringList(null).writeStringList(List.of())
+        .writeStringList(List.of("a", "", "미디어")).toByteArray();
+
+    BinaryReader reader = new BinaryReader(bytes);
+    assertNull(reader.readString());
+    assertEquals("", reader.readString());
+    assertEquals("한글 😀 é", reader.readString());
+    assertNull(reader.readStringList());
+    assertEquals(List.of(), reader.readStringList());
+    assertEquals(List.of("a", "", "미디어"), reader.readStringList());
+  }
+
+  @Test
+  public void testDateTimeRoundTrip() {
+    LocalDateTime withNanos = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789);
+    LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 0, 0);
+    byte[] bytes = new BinaryWriter(8).writeDateTime(null).writeDateTime(withNanos)
+        .writeDateTime(beforeEpoch).toByteArray();
+
+    BinaryReader reader = new BinaryReader(bytes);
+    assertNull(reader.readDateTime());
+    assertEquals(withNanos, reader.readDateTime());
+    assertEquals(beforeEpoch, reader.readDateTime());
+  }
+
+  @Test
+  public void testTruncatedInputIsRejected() {
+    byte[] bytes = new BinaryWriter(16).writeString("truncated").toByteArray();
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+    assertThrows(SerializationException.class, () -> new BinaryReader(truncated).readString());
+  }
+}
@@ -0,0 +1,95 @@
+package com.newsfeed.demo.common.cache.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+public class CompressingCacheCodecTest {
+
+  private static final int THRESHOLD = 512;
+  private static final byte RAW = 0;
+  private static final byte LZ4 = 1;
+
+  private final CacheCodec<byte[]> identity = new CacheCodec<>() {
+    @Override
+    public byte[] encode(byte[] value) {
+      return value;
+    }
+
+    @Override
+    public byte[] decode(byte[] bytes) {
+      return bytes;
+    }
+  };
+
+  private final CompressingCacheCodec<byte[]> codec =
+      new CompressingCacheCodec<>(identity, THRESHOLD);
+
+  @Test
+  public void testValueBelowThresholdIsStoredRaw() {
+    byte[] value = repeated(THRESHOLD - 1);
+
+    byte[] encoded = codec.encode(value);
+
+    assertEquals(RAW, encoded[0]);
+    assertEquals(value.length + 1, encoded.length);
+    assertArrayEquals(value, codec.decode(encoded));
+  }
+
+  @Test
+  public void testValueAtThresholdIsCompressed() {
+    byte[] value = repeated(THRESHOLD);
+
+    byte[] encoded = codec.encode(value);
+
+    assertEquals(LZ4, encoded[0]);
+    assertTrue(encoded.length < value.length);
+    assertArrayEquals(value, codec.decode(encoded));
+  }
+
+  @Test
+  public void testValueAboveThresholdIsCompressed() {
+    byte[] value = repeated(THRESHOLD + 1);
+
+    byte[] encoded = codec.encode(value);
+
+    assertEquals(LZ4, encoded[0]);
+    assertArrayEquals(value, codec.decode(encoded));
+  }
+
+  @Test
+  public void testIncompressibleValueIsStoredRaw() {
+    byte[] value = new byte[THRESHOLD * 2];
+    new Random(42).nextBytes(value);
+
+    byte[] encoded = codec.encode(value);
+
+    assertEquals(RAW, encoded[0]);
+    assertArrayEquals(value, codec.decode(encoded));
+  }
+
+  @Test
+  public void testEmptyValueRoundTrip() {
+    byte[] encoded = codec.encode(new byte[0]);
+
+    assertEquals(1, encoded.length);
+    assertArrayEquals(new byte[0], codec.decode(encoded));
+  }
+
+  @Test
+  public void testUnknownHeaderIsRejected() {
+    assertThrows(SerializationException.class, () -> codec.decode(new byte[] {7, 1, 2}));
+    assertThrows(SerializationException.class, () -> codec.decode(new byte[0]));
+  }
+
+  private static byte[] repeated(int length) {
+    byte[] value = new byte[length];
+    Arrays.fill(value, (byte) 'a');
+    return value;
+  }
+}
@@ -0,0 +1,61 @@
+package com.newsfeed.demo.common.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class SnowflakeIdGeneratorTest {
+
+  @Test
+  public void testIdsAreIncreasing() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+
+    long previous = generator.nextId();
+    for (int i = 0; i < 100_000; i++) {
+      long current = generator.nextId();
+      assertTrue(current > previous);
+      previous = current;
+    }
+  }
+
+  @Test
+  public void testIdsAreUniqueAcrossThreads() throws Exception {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      executor.submit(() -> {
+        for (int i = 0; i < 50_000; i++) {
+          ids.add(generator.nextId());
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(400_000, ids.size());
+  }
+
+  @Test
+  public void testTimestampIsEncoded() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+
+    long before = System.currentTimeMillis();
+    long id = generator.nextId();
+
+    assertTrue(SnowflakeIdGenerator.extractTimestamp(id) >= before);
+  }
+
+  @Test
+  public void testInvalidWorkerId() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+  }
+}
@@ -0,0 +1,60 @@
+package com.newsfeed.demo.common.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.newsfeed.demo.common.id.SnowflakeIdentifierGenerator.Registration;
+
+public class SnowflakeIdentifierGeneratorTest {
+
+  private final SnowflakeIdentifierGenerator identifierGenerator =
+      new SnowflakeIdentifierGenerator();
+
+  // 같은 JVM의 Spring 컨텍스트가 등록한 생성기를 테스트 후 되돌림
+  private Registration saved;
+
+  @BeforeEach
+  void saveRegistration() {
+    saved = SnowflakeIdentifierGenerator.registration;
+  }
+
+  @AfterEach
+  void restoreRegistration() {
+    SnowflakeIdentifierGenerator.registration = saved;
+  }
+
+  @Test
+  public void testGeneratesWhileLeaseIsValid() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+    SnowflakeIdentifierGenerator.register(generator, System.currentTimeMillis() + 60_000);
+
+    long id = (Long) identifierGenerator.generate(null, null);
+
+    assertEquals(3, (id >>> 12) & SnowflakeIdGenerator.MAX_WORKER_ID);
+  }
+
+  @Test
+  public void testRefusesAfterLeaseIsNoLongerConfirmed() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+    SnowflakeIdentifierGenerator.register(generator, System.currentTimeMillis() - 1);
+
+    assertThrows(IllegalStateException.class, () -> identifierGenerator.generate(null, null));
+
+    // 갱신이 확인되면 다시 생성
+    SnowflakeIdentifierGenerator.extendValidity(generator, System.currentTimeMillis() + 60_000);
+    identifierGenerator.generate(null, null);
+  }
+
+  @Test
+  public void testRenewalOfReplacedGeneratorIsIgnored() {
+    SnowflakeIdGenerator previous = new SnowflakeIdGenerator(3);
+    SnowflakeIdGenerator current = new SnowflakeIdGenerator(4);
+    SnowflakeIdentifierGenerator.register(current, System.currentTimeMillis() - 1);
+
+    SnowflakeIdentifierGenerator.extendValidity(previous, System.currentTimeMillis() + 60_000);
+
+    assertThrows(IllegalStateException.class, () -> identifierGenerator.generate(null, null));
+  }
+}
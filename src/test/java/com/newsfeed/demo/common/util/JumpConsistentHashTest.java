@@ -0,0 +1,61 @@
+package com.newsfeed.demo.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class JumpConsistentHashTest {
+
+  @Test
+  public void testMatchesReferenceBuckets() {
+    // 논문의 C++ 구현(부호 없는 64비트 연산)과 같은 결과
+    assertEquals(0, JumpConsistentHash.bucket(1L, 1));
+    assertEquals(43, JumpConsistentHash.bucket(42L, 57));
+    assertEquals(0, JumpConsistentHash.bucket(0xDEAD10CCL, 1));
+    assertEquals(361, JumpConsistentHash.bucket(0xDEAD10CCL, 666));
+    assertEquals(520, JumpConsistentHash.bucket(256L, 1024));
+    assertEquals(549, JumpConsistentHash.bucket(1L, 1000));
+  }
+
+  @Test
+  public void testNegativeKeyIsHashedAsUnsigned() {
+    assertEquals(2, JumpConsistentHash.bucket(-1L, 4));
+  }
+
+  @Test
+  public void testSpreadsKeysEvenly() {
+    int buckets = 4;
+    int keyCount = 40_000;
+    int[] counts = new int[buckets];
+    for (long key = 0; key < keyCount; key++) {
+      int bucket = JumpConsistentHash.bucket(key, buckets);
+      assertTrue(bucket >= 0 && bucket < buckets);
+      counts[bucket]++;
+    }
+    for (int count : counts) {
+      assertTrue(Math.abs(count - keyCount / buckets) < keyCount / buckets / 10);
+    }
+  }
+
+  @Test
+  public void testAddingBucketMovesKeysOnlyToNewBucket() {
+    int keyCount = 40_000;
+    int moved = 0;
+    for (long key = 0; key < keyCount; key++) {
+      int before = JumpConsistentHash.bucket(key, 4);
+      int after = JumpConsistentHash.bucket(key, 5);
+      if (before != after) {
+        assertEquals(4, after);
+        moved++;
+      }
+    }
+    // 키의 약 1/5만 새 버킷으로 이동
+    assertTrue(Math.abs(moved - keyCount / 5) < keyCount / 5 / 10);
+  }
+
+  @Test
+  public void testRejectsNonPositiveBuckets() {
+    assertThrows(IllegalArgumentException.class, () -> JumpConsistentHash.bucket(1L, 0));
+  }
+}
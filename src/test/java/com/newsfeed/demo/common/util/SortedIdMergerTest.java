@@ -0,0 +1,46 @@
+package com.newsfeed.demo.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SortedIdMergerTest {
+
+  @Test
+  public void testMergesInDescendingOrder() {
+    List<Long> merged = SortedIdMerger.mergeDescending(
+        List.of(List.of(9L, 5L, 1L), List.of(8L, 7L), List.of(6L, 2L)), 10);
+
+    assertEquals(List.of(9L, 8L, 7L, 6L, 5L, 2L, 1L), merged);
+  }
+
+  @Test
+  public void testStopsAtLimit() {
+    List<Long> merged =
+        SortedIdMerger.mergeDescending(List.of(List.of(9L, 5L, 1L), List.of(8L, 7L)), 3);
+
+    assertEquals(List.of(9L, 8L, 7L), merged);
+  }
+
+  @Test
+  public void testRemovesDuplicateIds() {
+    List<Long> merged =
+        SortedIdMerger.mergeDescending(List.of(List.of(9L, 5L), List.of(9L, 5L, 3L)), 10);
+
+    assertEquals(List.of(9L, 5L, 3L), merged);
+  }
+
+  @Test
+  public void testSkipsEmptyAndNullLists() {
+    List<Long> merged =
+        SortedIdMerger.mergeDescending(Arrays.asList(List.of(), null, List.of(4L)), 10);
+
+    assertEquals(List.of(4L), merged);
+  }
+
+  @Test
+  public void testReturnsEmptyWithoutLists() {
+    assertEquals(List.of(), SortedIdMerger.mergeDescending(List.of(), 10));
+  }
+}
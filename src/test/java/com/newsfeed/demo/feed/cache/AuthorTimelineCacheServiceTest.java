@@ -0,0 +1,96 @@
+package com.newsfeed.demo.feed.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService.Timeline;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class AuthorTimelineCacheServiceTest {
+
+  @Autowired
+  private AuthorTimelineCacheService authorTimelineCacheService;
+
+  @Autowired
+  private RedisTemplate<String, Object> redisTemplate;
+
+  private Long authorId;
+
+  @BeforeEach
+  void setUp() {
+    authorId = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+    deleteTimeline();
+  }
+
+  @AfterEach
+  void tearDown() {
+    deleteTimeline();
+  }
+
+  @Test
+  public void testPostAddedDuringLoadIsKept() {
+    // DB에서 타임라인을 읽은 뒤, 캐시에 저장하기 전에 커밋되어 추가된 포스트
+    authorTimelineCacheService.beginTimelineLoad(List.of(authorId));
+    authorTimelineCacheService.addToTimeline(authorId, 300L);
+
+    authorTimelineCacheService.cacheTimeline(authorId, List.of(200L, 100L));
+
+    assertEquals(List.of(300L, 200L, 100L), getTimeline().postIds());
+  }
+
+  @Test
+  public void testCachingDoesNotDropPostsAlreadyInTimeline() {
+    authorTimelineCacheService.cacheTimeline(authorId, List.of(100L));
+    authorTimelineCacheService.addToTimeline(authorId, 300L);
+
+    // 300 이전의 스냅샷으로 다시 구성해도 이미 추가된 포스트는 남아 있음
+    authorTimelineCacheService.cacheTimeline(authorId, List.of(200L, 100L));
+
+    assertEquals(List.of(300L, 200L, 100L), getTimeline().postIds());
+  }
+
+  @Test
+  public void testTimelineIsTrimmedToMaxSize() {
+    List<Long> postIds = new ArrayList<>();
+    for (long postId = AuthorTimelineCacheService.MAX_TIMELINE_SIZE + 10; postId > 0; postId--) {
+      postIds.add(postId);
+    }
+    authorTimelineCacheService.cacheTimeline(authorId, postIds);
+    authorTimelineCacheService.addToTimeline(authorId, 1_000L);
+
+    Timeline timeline = getTimeline();
+    assertEquals(AuthorTimelineCacheService.MAX_TIMELINE_SIZE, timeline.postIds().size());
+    assertEquals(1_000L, timeline.postIds().get(0));
+    assertTrue(timeline.hasMore());
+  }
+
+  @Test
+  public void testAddWithoutLoadSkipsMissingTimeline() {
+    authorTimelineCacheService.addToTimeline(authorId, 300L);
+
+    assertFalse(authorTimelineCacheService.getTimelines(List.of(authorId), null, 10)
+        .containsKey(authorId));
+  }
+
+  private Timeline getTimeline() {
+    return authorTimelineCacheService
+        .getTimelines(List.of(authorId), null, AuthorTimelineCacheService.MAX_TIMELINE_SIZE)
+        .get(authorId);
+  }
+
+  private void deleteTimeline() {
+    redisTemplate.delete(List.of("timeline:author:" + authorId,
+        "timeline:author-pending:" + authorId));
+  }
+}
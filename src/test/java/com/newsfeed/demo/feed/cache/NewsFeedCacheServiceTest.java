@@ -0,0 +1,97 @@
+package com.newsfeed.demo.feed.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class NewsFeedCacheServiceTest {
+
+  @Autowired
+  private NewsFeedCacheService newsFeedCacheService;
+
+  private Long userId;
+
+  @BeforeEach
+  void setUp() {
+    userId = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+    newsFeedCacheService.invalidateUserFeed(userId);
+  }
+
+  @AfterEach
+  void tearDown() {
+    newsFeedCacheService.invalidateUserFeed(userId);
+  }
+
+  @Test
+  public void testFanoutDuringColdRebuildIsKept() {
+    // 재구성이 타임라인을 읽은 뒤, 결과를 저장하기 전에 팬아웃된 포스트
+    newsFeedCacheService.beginRebuild(userId);
+    List<Long> failed = newsFeedCacheService.addToUserFeeds(List.of(300L), List.of(userId));
+    assertTrue(failed.isEmpty());
+    assertTrue(newsFeedCacheService.isCacheMiss(userId));
+
+    newsFeedCacheService.replaceUserFeed(userId, List.of(200L, 100L), false);
+
+    assertEquals(List.of(300L, 200L, 100L), newsFeedCacheService.getUserFeed(userId, null, 10));
+  }
+
+  @Test
+  public void testFanoutDuringRefreshIsKept() {
+    newsFeedCacheService.replaceUserFeed(userId, List.of(100L), false);
+
+    // 조기 갱신 중 기존 키에 팬아웃된 포스트는 재구성 결과에 없어도 남아 있어야 함
+    newsFeedCacheService.beginRebuild(userId);
+    newsFeedCacheService.addToUserFeed(userId, 300L);
+    newsFeedCacheService.replaceUserFeed(userId, List.of(200L, 100L), false);
+
+    assertEquals(List.of(300L, 200L, 100L), newsFeedCacheService.getUserFeed(userId, null, 10));
+    assertFalse(newsFeedCacheService.isFeedTruncated(userId));
+  }
+
+  @Test
+  public void testTruncatedRebuildRemovesOnlyOlderPosts() {
+    newsFeedCacheService.replaceUserFeed(userId, List.of(150L, 50L), false);
+
+    newsFeedCacheService.replaceUserFeed(userId, List.of(200L, 100L), true);
+
+    // 재구성 결과의 가장 오래된 포스트보다 오래된 포스트만 제거
+    assertEquals(List.of(200L, 150L, 100L), newsFeedCacheService.getUserFeed(userId, null, 10));
+    assertTrue(newsFeedCacheService.isFeedTruncated(userId));
+  }
+
+  @Test
+  public void testMergeKeepsExistingPostsAndSkipsOlderThanFloor() {
+    newsFeedCacheService.replaceUserFeed(userId, List.of(200L, 100L), true);
+    assertEquals(100L, newsFeedCacheService.getFeedFloor(userId));
+
+    newsFeedCacheService.mergeIntoUserFeed(userId, List.of(250L, 150L, 50L));
+
+    // 하한(100)보다 오래된 포스트만 건너뛰고 기존 포스트는 그대로 유지
+    assertEquals(List.of(250L, 200L, 150L, 100L),
+        newsFeedCacheService.getUserFeed(userId, null, 10));
+  }
+
+  @Test
+  public void testCompleteFeedHasNoFloor() {
+    newsFeedCacheService.replaceUserFeed(userId, List.of(200L, 100L), false);
+
+    assertEquals(0L, newsFeedCacheService.getFeedFloor(userId));
+  }
+
+  @Test
+  public void testFanoutWithoutRebuildSkipsMissingFeed() {
+    newsFeedCacheService.addToUserFeed(userId, 300L);
+
+    assertTrue(newsFeedCacheService.isCacheMiss(userId));
+  }
+}
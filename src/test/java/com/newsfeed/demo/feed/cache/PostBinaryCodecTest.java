@@ -0,0 +1,90 @@
+package com.newsfeed.demo.feed.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+import com.newsfeed.demo.common.cache.codec.CompressingCacheCodec;
+
+public class PostBinaryCodecTest {
+
+  private static final int COMPRESSION_THRESHOLD = 512;
+
+  private final PostBinaryCodec codec = new PostBinaryCodec();
+
+  @Test
+  public void testRoundTrip() {
+    PostSnapshot post = new PostSnapshot(1L << 57, 42L, "첫 번째 포스트 😀",
+        List.of("https://cdn.example.com/이미지.png", "https://cdn.example.com/b.mp4"),
+        LocalDateTime.of(2024, 5, 1, 12, 30, 15, 999_000_000));
+
+    assertEquals(post, codec.decode(codec.encode(post)));
+  }
+
+  @Test
+  public void testDecodedMediaUrlsAreImmutable() {
+    PostSnapshot post =
+        new PostSnapshot(1L, 2L, "content", List.of("https://cdn.example.com/a.png"), null);
+
+    PostSnapshot decoded = codec.decode(codec.encode(post));
+
+    assertThrows(UnsupportedOperationException.class, () -> decoded.mediaUrls().add("x"));
+  }
+
+  @Test
+  public void testNullFieldsRoundTrip() {
+    PostSnapshot post = new PostSnapshot(1L, 2L, null, null, null);
+
+    assertEquals(post, codec.decode(codec.encode(post)));
+  }
+
+  @Test
+  public void testEmptyContentAndMediaRoundTrip() {
+    PostSnapshot post = new PostSnapshot(1L, 2L, "", List.of(), LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    assertEquals(post, codec.decode(codec.encode(post)));
+  }
+
+  @Test
+  public void testRoundTripAroundCompressionThreshold() {
+    CompressingCacheCodec<PostSnapshot> compressing =
+        new CompressingCacheCodec<>(codec, COMPRESSION_THRESHOLD);
+
+    // 인코딩 결과가 임계값 바로 아래, 임계값, 바로 위가 되도록 본문 길이를 맞춤
+    for (int encodedLength = COMPRESSION_THRESHOLD - 1;
+        encodedLength <= COMPRESSION_THRESHOLD + 1; encodedLength++) {
+      PostSnapshot post = postEncodedTo(encodedLength);
+      assertEquals(encodedLength, codec.encode(post).length);
+
+      byte[] encoded = compressing.encode(post);
+      assertEquals(encodedLength < COMPRESSION_THRESHOLD ? 0 : 1, encoded[0]);
+      assertEquals(post, compressing.decode(encoded));
+    }
+  }
+
+  @Test
+  public void testUnknownVersionIsRejected() {
+    byte[] encoded = codec.encode(new PostSnapshot(1L, 2L, "content", null, null));
+    encoded[0] = 99;
+
+    assertThrows(SerializationException.class, () -> codec.decode(encoded));
+  }
+
+  // 본문 길이 접두사(varint)의 크기가 달라질 수 있으므로 목표 길이가 될 때까지 본문을 늘림
+  private PostSnapshot postEncodedTo(int encodedLength) {
+    StringBuilder content = new StringBuilder();
+    PostSnapshot post = postWithContent(content.toString());
+    while (codec.encode(post).length < encodedLength) {
+      content.append('a');
+      post = postWithContent(content.toString());
+    }
+    return post;
+  }
+
+  private static PostSnapshot postWithContent(String content) {
+    return new PostSnapshot(123_456_789L, 7L, content, List.of("https://cdn.example.com/a.png"),
+        LocalDateTime.of(2024, 1, 1, 9, 0));
+  }
+}
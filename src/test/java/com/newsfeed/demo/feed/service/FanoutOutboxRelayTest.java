@@ -0,0 +1,111 @@
+package com.newsfeed.demo.feed.service;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import com.newsfeed.demo.feed.entity.FanoutOutbox;
+import com.newsfeed.demo.feed.repository.FanoutOutboxRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class FanoutOutboxRelayTest {
+
+  private static final long MILLIS = 1_000_000L;
+
+  @Autowired
+  private FanoutOutboxRelay fanoutOutboxRelay;
+
+  @Autowired
+  private FanoutOutboxRepository fanoutOutboxRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @MockitoBean
+  private FanoutService fanoutService;
+
+  // 테스트 프로필은 스케줄 작업이 꺼져 있으므로 relay()를 직접 호출하고, 시계와 기록 시각을 고정
+  @MockitoBean
+  private Clock clock;
+
+  private LocalDateTime base;
+  private long authorId;
+
+  @BeforeEach
+  void setUp() {
+    base = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    authorId = ThreadLocalRandom.current().nextLong(1_000_000_000L, 2_000_000_000L);
+  }
+
+  @Test
+  public void testBurstWithinWindowIsFannedOutOnce() {
+    // 병합 구간(500ms) 안에 200ms 간격으로 작성된 포스트
+    List<Long> postIds = List.of(authorId * 10 + 1, authorId * 10 + 2, authorId * 10 + 3);
+    for (int i = 0; i < postIds.size(); i++) {
+      saveOutbox(authorId, postIds.get(i), base.plusNanos(i * 200 * MILLIS));
+    }
+
+    // 첫 포스트만 구간이 지났어도 뒤이은 포스트까지 한 번의 팬아웃으로 전송
+    setClock(base.plusNanos(550 * MILLIS));
+    fanoutOutboxRelay.relay();
+
+    verify(fanoutService).fanoutToFollowers(authorId, postIds);
+    verify(fanoutService, times(1)).fanoutToFollowers(eq(authorId), anyList());
+  }
+
+  @Test
+  public void testPostIsHeldUntilWindowPasses() {
+    long postId = authorId * 10 + 1;
+    saveOutbox(authorId, postId, base);
+
+    setClock(base.plusNanos(400 * MILLIS));
+    fanoutOutboxRelay.relay();
+    verify(fanoutService, never()).fanoutToFollowers(eq(authorId), anyList());
+
+    setClock(base.plusNanos(550 * MILLIS));
+    fanoutOutboxRelay.relay();
+    verify(fanoutService).fanoutToFollowers(authorId, List.of(postId));
+  }
+
+  @Test
+  public void testWindowIsPerAuthor() {
+    long otherAuthorId = authorId + 1;
+    saveOutbox(authorId, authorId * 10 + 1, base);
+    saveOutbox(otherAuthorId, otherAuthorId * 10 + 1, base.plusNanos(300 * MILLIS));
+
+    // 다른 작성자의 포스트는 자신의 구간이 지날 때까지 기다림
+    setClock(base.plusNanos(550 * MILLIS));
+    fanoutOutboxRelay.relay();
+
+    verify(fanoutService).fanoutToFollowers(authorId, List.of(authorId * 10 + 1));
+    verify(fanoutService, never()).fanoutToFollowers(eq(otherAuthorId), anyList());
+  }
+
+  private void saveOutbox(long authorId, long postId, LocalDateTime createdAt) {
+    FanoutOutbox entry = fanoutOutboxRepository.save(new FanoutOutbox(authorId, postId));
+    jdbcTemplate.update("UPDATE fanout_outbox SET created_at = ? WHERE id = ?", createdAt,
+        entry.getId());
+  }
+
+  private void setClock(LocalDateTime now) {
+    ZoneId zone = ZoneId.systemDefault();
+    when(clock.getZone()).thenReturn(zone);
+    when(clock.instant()).thenReturn(now.atZone(zone).toInstant());
+  }
+}
@@ -0,0 +1,63 @@
+package com.newsfeed.demo.feed.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.newsfeed.demo.config.RabbitMQConstants;
+import com.newsfeed.demo.feed.dto.FanoutMessage;
+
+public class FanoutRouterTest {
+
+  private static final String EXPRESS = RabbitMQConstants.FANOUT_EXPRESS_LANE;
+  private static final String BULK = RabbitMQConstants.FANOUT_BULK_LANE;
+
+  private FanoutRouter fanoutRouter;
+
+  @BeforeEach
+  void setUp() {
+    fanoutRouter = new FanoutRouter();
+    ReflectionTestUtils.setField(fanoutRouter, "shardCount", 4);
+    ReflectionTestUtils.setField(fanoutRouter, "expressMaxFollowers", 1000L);
+  }
+
+  @Test
+  public void testLaneByFollowersCount() {
+    assertEquals(EXPRESS, fanoutRouter.laneOf(0));
+    assertEquals(EXPRESS, fanoutRouter.laneOf(1000));
+    assertEquals(BULK, fanoutRouter.laneOf(1001));
+  }
+
+  @Test
+  public void testExpressShardFollowsAuthor() {
+    // 같은 작성자의 메시지는 팔로워 청크와 무관하게 같은 샤드 (작성자 2 -> 샤드 3)
+    assertEquals(3, fanoutRouter.shardOf(EXPRESS, message(2L, List.of(4L, 5L))));
+    assertEquals(3, fanoutRouter.shardOf(EXPRESS, message(2L, List.of(6L, 7L))));
+    assertEquals("fanout.express.3", fanoutRouter.routingKey(EXPRESS, message(2L, List.of(4L))));
+  }
+
+  @Test
+  public void testBulkShardFollowsFirstFollowerOfChunk() {
+    // 한 작성자의 대규모 팬아웃 청크가 여러 샤드로 분산 (첫 팔로워 4 -> 샤드 1, 6 -> 샤드 2)
+    assertEquals(1, fanoutRouter.shardOf(BULK, message(2L, List.of(4L, 5L))));
+    assertEquals(2, fanoutRouter.shardOf(BULK, message(2L, List.of(6L, 7L))));
+    assertEquals("fanout.bulk.2", fanoutRouter.routingKey(BULK, message(2L, List.of(6L))));
+  }
+
+  @Test
+  public void testBulkShardWithoutFollowersFollowsAuthor() {
+    assertEquals(3, fanoutRouter.shardOf(BULK, message(2L, List.of())));
+  }
+
+  @Test
+  public void testQueueNamesCoverAllShards() {
+    assertArrayEquals(new String[] {"fanout.bulk.0", "fanout.bulk.1", "fanout.bulk.2",
+        "fanout.bulk.3"}, fanoutRouter.queueNames(BULK));
+  }
+
+  private static FanoutMessage message(Long authorId, List<Long> followerIds) {
+    return new FanoutMessage(authorId, List.of(100L), 0, followerIds, 0L);
+  }
+}
@@ -0,0 +1,62 @@
+package com.newsfeed.demo.feed.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.newsfeed.demo.feed.cache.AuthorTimelineCacheService.Timeline;
+
+public class NewsFeedRebuilderTest {
+
+  @Test
+  public void testPartialTimelineAboveLimitIsDeficient() {
+    // 병합 결과의 마지막(8)보다 최신인 포스트(9)에서 멈춘 작성자 1만 더 읽어야 함
+    Map<Long, Timeline> timelines = Map.of(
+        1L, new Timeline(List.of(10L, 9L), true),
+        2L, new Timeline(List.of(8L, 6L), true),
+        3L, new Timeline(List.of(7L, 3L), false));
+    List<Long> merged = List.of(10L, 9L, 8L);
+
+    assertEquals(List.of(1L), NewsFeedRebuilder.findDeficientAuthors(timelines, merged, 3));
+  }
+
+  @Test
+  public void testPartialTimelineBelowLimitIsNotDeficient() {
+    // 작성자 2의 남은 포스트는 5보다 오래되어 병합 결과 3개 안에 들어갈 수 없음
+    Map<Long, Timeline> timelines = Map.of(
+        1L, new Timeline(List.of(10L, 9L, 8L), false),
+        2L, new Timeline(List.of(7L, 5L), true));
+    List<Long> merged = List.of(10L, 9L, 8L);
+
+    assertEquals(List.of(), NewsFeedRebuilder.findDeficientAuthors(timelines, merged, 3));
+  }
+
+  @Test
+  public void testAllPartialTimelinesAreDeficientWhenMergeIsNotFull() {
+    Map<Long, Timeline> timelines = Map.of(
+        1L, new Timeline(List.of(10L), true),
+        2L, new Timeline(List.of(9L), true),
+        3L, new Timeline(List.of(), false));
+    List<Long> merged = List.of(10L, 9L);
+
+    assertEquals(List.of(1L, 2L), NewsFeedRebuilder.findDeficientAuthors(timelines, merged, 3));
+  }
+
+  @Test
+  public void testCutoffIsNewestBoundaryOfDeficientTimelines() {
+    Map<Long, Timeline> timelines = Map.of(
+        1L, new Timeline(List.of(10L, 8L), true),
+        2L, new Timeline(List.of(9L, 6L), true),
+        3L, new Timeline(List.of(12L, 4L), true));
+
+    // 더 깊게 읽지 못한 작성자(1, 2)의 경계만 반영하고, 충분히 읽은 작성자 3은 무시
+    assertEquals(8L, NewsFeedRebuilder.truncationCutoff(timelines, List.of(1L, 2L)));
+  }
+
+  @Test
+  public void testNoCutoffWithoutDeficientTimelines() {
+    Map<Long, Timeline> timelines = Map.of(1L, new Timeline(List.of(10L, 8L), true));
+
+    assertEquals(0L, NewsFeedRebuilder.truncationCutoff(timelines, List.of()));
+  }
+}
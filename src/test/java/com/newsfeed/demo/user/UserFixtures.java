@@ -0,0 +1,20 @@
+package com.newsfeed.demo.user;
+
+import java.util.UUID;
+import com.newsfeed.demo.user.dto.UserDto;
+import com.newsfeed.demo.user.service.UserService;
+
+public final class UserFixtures {
+
+  private UserFixtures() {
+  }
+
+  /**
+   * 테스트 간 이름이 겹치지 않도록 접두사 뒤에 임의 문자열을 붙여 사용자 생성
+   */
+  public static UserDto createUser(UserService userService, String prefix) {
+    String name = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+    return userService
+        .createUser(UserDto.builder().username(name).email(name + "@example.com").build());
+  }
+}
@@ -0,0 +1,38 @@
+package com.newsfeed.demo.user.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+public class UserBinaryCodecTest {
+
+  private final UserBinaryCodec codec = new UserBinaryCodec();
+
+  @Test
+  public void testRoundTrip() {
+    UserSnapshot user = new UserSnapshot(Long.MAX_VALUE, "사용자_é😀", "user@example.com",
+        LocalDateTime.of(2023, 12, 31, 23, 59, 59, 1));
+
+    assertEquals(user, codec.decode(codec.encode(user)));
+  }
+
+  @Test
+  public void testNullAndEmptyFieldsRoundTrip() {
+    UserSnapshot nulls = new UserSnapshot(1L, null, null, null);
+    UserSnapshot empties = new UserSnapshot(0L, "", "", LocalDateTime.of(1970, 1, 1, 0, 0));
+
+    assertEquals(nulls, codec.decode(codec.encode(nulls)));
+    assertEquals(empties, codec.decode(codec.encode(empties)));
+  }
+
+  @Test
+  public void testTruncatedValueIsRejected() {
+    byte[] encoded = codec.encode(new UserSnapshot(1L, "username", "user@example.com", null));
+    byte[] truncated = new byte[encoded.length - 3];
+    System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+    assertThrows(SerializationException.class, () -> codec.decode(truncated));
+  }
+}
@@ -0,0 +1,92 @@
+package com.newsfeed.demo.user.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static com.newsfeed.demo.user.UserFixtures.createUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import com.newsfeed.demo.user.dto.UserDto;
+import com.newsfeed.demo.user.service.UserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserControllerTest {
+
+  @Autowired
+  private WebApplicationContext webApplicationContext;
+
+  @Autowired
+  private UserService userService;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+  }
+
+  @Test
+  public void testFollowersPagingPastHasMore() throws Exception {
+    UserDto author = createUser(userService, "author");
+    UserDto first = createUser(userService, "follower");
+    UserDto second = createUser(userService, "follower");
+    UserDto third = createUser(userService, "follower");
+    userService.followUser(first.getId(), author.getId());
+    userService.followUser(second.getId(), author.getId());
+    userService.followUser(third.getId(), author.getId());
+
+    // 첫 페이지: 다음 페이지가 있으므로 마지막 사용자 ID가 커서
+    mockMvc.perform(get("/api/users/{userId}/followers", author.getId()).param("limit", "2"))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.users.length()").value(2))
+        .andExpect(jsonPath("$.users[0].id").value(first.getId()))
+        .andExpect(jsonPath("$.users[1].id").value(second.getId()))
+        .andExpect(jsonPath("$.hasMore").value(true))
+        .andExpect(jsonPath("$.nextCursor").value(second.getId()));
+
+    // 커서 다음 페이지: 남은 한 명만 조회하고 더 이상 페이지가 없음
+    mockMvc.perform(get("/api/users/{userId}/followers", author.getId()).param("limit", "2")
+        .param("cursor", second.getId().toString())).andExpect(status().isOk())
+        .andExpect(jsonPath("$.users.length()").value(1))
+        .andExpect(jsonPath("$.users[0].id").value(third.getId()))
+        .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  public void testExportFollowingStreamsAllUsers() throws Exception {
+    UserDto follower = createUser(userService, "follower");
+    UserDto first = createUser(userService, "author");
+    UserDto second = createUser(userService, "author");
+    userService.followUser(follower.getId(), first.getId());
+    userService.followUser(follower.getId(), second.getId());
+
+    MvcResult result =
+        mockMvc.perform(get("/api/users/{userId}/following/export", follower.getId()))
+            .andExpect(request().asyncStarted()).andReturn();
+
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].id").value(first.getId()))
+        .andExpect(jsonPath("$[1].id").value(second.getId()));
+  }
+
+  @Test
+  public void testExportFollowersOfUserWithoutFollowers() throws Exception {
+    UserDto author = createUser(userService, "author");
+
+    MvcResult result = mockMvc.perform(get("/api/users/{userId}/followers/export", author.getId()))
+        .andExpect(request().asyncStarted()).andReturn();
+
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+  }
+}
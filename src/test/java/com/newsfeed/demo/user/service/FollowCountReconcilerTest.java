@@ -0,0 +1,57 @@
+package com.newsfeed.demo.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static com.newsfeed.demo.user.UserFixtures.createUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.newsfeed.demo.user.dto.UserDto;
+import com.newsfeed.demo.user.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class FollowCountReconcilerTest {
+
+  @Autowired
+  private FollowCountReconciler followCountReconciler;
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  public void testReconcileRepairsDriftedCounters() {
+    UserDto follower = createUser(userService, "follower");
+    UserDto author = createUser(userService, "author");
+    userService.followUser(follower.getId(), author.getId());
+
+    // 카운터 컬럼이 실제 팔로우 관계와 어긋난 상태 (예: 컬럼 추가 직후 0, 유실된 증감)
+    transactionTemplate.executeWithoutResult(status -> {
+      userRepository.addFollowersCount(author.getId(), -1);
+      userRepository.addFollowingCount(follower.getId(), 5);
+    });
+
+    followCountReconciler.reconcile();
+
+    assertEquals(1, userService.getUserById(author.getId()).getFollowersCount());
+    assertEquals(1, userService.getUserById(follower.getId()).getFollowingCount());
+  }
+
+  @Test
+  public void testReconcileLeavesCorrectCountersUnchanged() {
+    UserDto follower = createUser(userService, "follower");
+    UserDto author = createUser(userService, "author");
+    userService.followUser(follower.getId(), author.getId());
+    followCountReconciler.reconcile();
+
+    assertEquals(0, followCountReconciler.reconcile());
+    assertEquals(1, userService.getUserById(author.getId()).getFollowersCount());
+  }
+}
@@ -0,0 +1,59 @@
+package com.newsfeed.demo.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static com.newsfeed.demo.user.UserFixtures.createUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.newsfeed.demo.user.dto.UserDto;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserServiceTest {
+
+  @Autowired
+  private UserService userService;
+
+  @Test
+  public void testFollowIncrementsCounters() {
+    UserDto follower = createUser(userService, "follower");
+    UserDto author = createUser(userService, "author");
+
+    userService.followUser(follower.getId(), author.getId());
+
+    assertEquals(1, userService.getUserById(follower.getId()).getFollowingCount());
+    assertEquals(0, userService.getUserById(follower.getId()).getFollowersCount());
+    assertEquals(1, userService.getUserById(author.getId()).getFollowersCount());
+    assertEquals(0, userService.getUserById(author.getId()).getFollowingCount());
+  }
+
+  @Test
+  public void testUnfollowDecrementsCounters() {
+    UserDto follower = createUser(userService, "follower");
+    UserDto author = createUser(userService, "author");
+    UserDto otherAuthor = createUser(userService, "other");
+    userService.followUser(follower.getId(), author.getId());
+    userService.followUser(follower.getId(), otherAuthor.getId());
+
+    userService.unfollowUser(follower.getId(), author.getId());
+
+    assertEquals(1, userService.getUserById(follower.getId()).getFollowingCount());
+    assertEquals(0, userService.getUserById(author.getId()).getFollowersCount());
+    assertEquals(1, userService.getUserById(otherAuthor.getId()).getFollowersCount());
+  }
+
+  @Test
+  public void testRejectedFollowLeavesCountersUnchanged() {
+    UserDto follower = createUser(userService, "follower");
+    UserDto author = createUser(userService, "author");
+    userService.followUser(follower.getId(), author.getId());
+
+    assertThrows(RuntimeException.class,
+        () -> userService.followUser(follower.getId(), author.getId()));
+
+    assertEquals(1, userService.getUserById(follower.getId()).getFollowingCount());
+    assertEquals(1, userService.getUserById(author.getId()).getFollowersCount());
+  }
+}